@@ -0,0 +1,141 @@
+package app;
+
+import engine.ParallelSearch;
+import engine.SearchLimits;
+import engine.SearchResult;
+import engine.TranspositionTable;
+import exceptions.InvalidFenException;
+import game.Board;
+import game.MoveList;
+
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// analiza in lot: un FEN pe linie, fiecare pozitie cautata cu acelasi buget (noduri sau timp);
+// pozitiile se impart pe un ForkJoinPool, fiecare cu Board-ul ei, iar fiecare fir are motorul lui
+// (ParallelSearch: cu --search-threads > 1, fiecare pozitie e cautata si cu Lazy SMP);
+// rezultatele intra intr-un array pe indexul liniei, deci iesirea e in ordinea intrarii
+// linie de iesire: fen <TAB> mutare <TAB> scor <TAB> adancime <TAB> noduri (sau fen <TAB> error: ...)
+// usage: java app.Analyze <positions.txt> [--out file] [--nodes N | --ms T] [--depth D] [--threads P] [--search-threads S] [--hash mb]
+public class Analyze {
+
+    private static final int BATCH = 4;
+
+    private String[] lines;
+    private String[] results;
+    private SearchLimits limits = SearchLimits.nodes(200_000);
+    private int hashMegabytes = 16;
+    private int searchThreads = 1;
+
+    // un motor (cu tabela lui) per fir de lucru, refolosit intre pozitii; inchise la finalul lui run()
+    private final Queue<ParallelSearch> created = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<ParallelSearch> engines = ThreadLocal.withInitial(() -> {
+        ParallelSearch ps = new ParallelSearch(searchThreads, new TranspositionTable(hashMegabytes));
+        created.add(ps);
+        return ps;
+    });
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.out.println("usage: java app.Analyze <positions.txt> [--out file] [--nodes N | --ms T] [--depth D] [--threads P] [--search-threads S] [--hash mb]");
+            return;
+        }
+
+        Analyze a = new Analyze();
+        Path in = Path.of(args[0]);
+        Path out = null;
+        int threads = Runtime.getRuntime().availableProcessors();
+        int depth = 64;
+
+        for (int i = 1; i < args.length; i++) {
+            String arg = args[i];
+            String v = (i + 1 < args.length) ? args[i + 1] : null;
+            if (arg.equals("--out") && v != null) { out = Path.of(v); i++; }
+            else if (arg.equals("--nodes") && v != null) { a.limits = SearchLimits.nodes(Long.parseLong(v)); i++; }
+            else if (arg.equals("--ms") && v != null) { a.limits = SearchLimits.time(Long.parseLong(v)); i++; }
+            else if (arg.equals("--depth") && v != null) { depth = Integer.parseInt(v); i++; }
+            else if (arg.equals("--threads") && v != null) { threads = Integer.parseInt(v); i++; }
+            else if (arg.equals("--search-threads") && v != null) { a.searchThreads = Integer.parseInt(v); i++; }
+            else if (arg.equals("--hash") && v != null) { a.hashMegabytes = Integer.parseInt(v); i++; }
+            else { System.out.println("Unknown argument: " + arg); return; }
+        }
+        a.limits.setMaxDepth(depth);
+
+        long start = System.nanoTime();
+        List<String> input = Files.readAllLines(in, StandardCharsets.UTF_8);
+        String[] results = a.run(input.toArray(new String[0]), threads);
+
+        try (PrintStream ps = (out != null)
+                ? new PrintStream(Files.newOutputStream(out), false, StandardCharsets.UTF_8)
+                : null) {
+            PrintStream target = (ps != null) ? ps : System.out;
+            for (String r : results) target.println(r);
+        }
+        long ms = (System.nanoTime() - start) / 1_000_000L;
+        EngineWarnings.report(System.err);
+        System.err.println("Analyzed " + results.length + " lines in " + ms + " ms (" + threads + " threads)");
+    }
+
+    public String[] run(String[] input, int threads) {
+        this.lines = input;
+        this.results = new String[input.length];
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, threads));
+        try {
+            pool.invoke(new Range(0, input.length));
+        } finally {
+            pool.shutdown();
+            for (ParallelSearch ps; (ps = created.poll()) != null; ) ps.close();
+        }
+        return results;
+    }
+
+    // imparte intervalul de linii pana la loturi mici; un lot se analizeaza pe firul curent
+    private final class Range extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int from, to;
+
+        Range(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= BATCH) {
+                for (int i = from; i < to; i++) results[i] = analyze(lines[i]);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new Range(from, mid), new Range(mid, to));
+        }
+    }
+
+    private String analyze(String line) {
+        String fen = (line == null) ? "" : line.trim();
+        // linii goale / comentarii raman pe loc, ca numerotarea sa se pastreze
+        if (fen.isEmpty() || fen.startsWith("#")) return line;
+
+        // o linie stricata da un rand de eroare, nu opreste tot lotul
+        try {
+            Board board = new Board();
+            board.loadFen(fen);
+
+            SearchResult r = engines.get().search(board, limits);
+            String move = r.hasMove() ? MoveList.toString(r.getBestMove()) : "none";
+            return String.format(Locale.ROOT, "%s\t%s\t%d\t%d\t%d", fen, move, r.getScore(), r.getDepth(), r.getNodes());
+        } catch (InvalidFenException e) {
+            return fen + "\terror: " + e.getMessage();
+        } catch (RuntimeException e) {
+            return fen + "\terror: " + e;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package app;
+
+import engine.OpeningBook;
+import engine.Tablebase;
+
+import java.io.PrintStream;
+
+// erorile de incarcare din engine (carte, tablebase-uri) sunt doar inregistrate acolo, ca firele de cautare
+// sa nu scrie in consola; aplicatiile le afiseaza aici, pe firul lor, intre mutari / la final
+final class EngineWarnings {
+
+    private static boolean bookReported;
+
+    private EngineWarnings() { }
+
+    static synchronized void report(PrintStream out) {
+        String book = OpeningBook.getSharedError();
+        if (book != null && !bookReported) {
+            bookReported = true;
+            out.println("WARN: " + book);
+        }
+        Tablebase tb = Tablebase.shared();
+        if (tb != null) {
+            for (String e : tb.drainLoadErrors()) out.println("WARN: " + e);
+        }
+    }
+}
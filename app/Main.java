@@ -1,7 +1,10 @@
 package app;
 
+import engine.EngineMoveStrategy;
+import engine.Tablebase;
 import exceptions.InvalidCommandException;
 import exceptions.InvalidMoveException;
+import game.ComputerMode;
 import game.Game;
 import game.Player;
 import model.Colors;
@@ -133,6 +136,7 @@ public class Main {
         int id = nextGameId();
         Player human = new Player(alias, col);
         Player cpu = new Player("computer", (col == Colors.WHITE) ? Colors.BLACK : Colors.WHITE);
+        cpu.setMode(pickComputerMode());
 
         Game g;
         if (col == Colors.WHITE) g = new Game(id, human, cpu);
@@ -183,6 +187,8 @@ public class Main {
     }
 
     private void playLoop(Game g, Player human, Player cpu) {
+        // jocurile noi si cele reluate din json primesc motorul aici (game nu depinde de engine)
+        if (cpu.getMode() == ComputerMode.ENGINE && cpu.getStrategy() == null) cpu.setStrategy(new EngineMoveStrategy());
         System.out.println("\nGame started. Commands: 'A2-A3', 'leave', 'resign'");
 
         while (true) {
@@ -204,9 +210,16 @@ public class Main {
                 return;
             }
 
+            EngineWarnings.report(System.out);
+            int tb = probeTablebase(g);
+            if (tb != Tablebase.NONE) System.out.println("Tablebase: " + Tablebase.describe(tb, g.getCurrentTurn()));
+
             if (g.getCurrentTurn() == human.getColor()) {
+                // computer-ul se gandeste in fundal cat timp omul scrie
+                cpu.startPondering(g.getBoard(), g.getRepetitionKeys(), g.isDrawLossFor(cpu));
                 System.out.print("> ");
                 String cmd = readLineSafe().trim();
+                cpu.stopPondering();
 
                 if (cmd.equalsIgnoreCase("leave")) {
                     // save game in user active list
@@ -287,6 +300,19 @@ public class Main {
         return (v == 2) ? Colors.BLACK : Colors.WHITE;
     }
 
+    // scorul din tablebase pentru partea la mutare (vezi engine.Tablebase), NONE daca nu e acoperita
+    private int probeTablebase(Game g) {
+        Tablebase tb = Tablebase.shared();
+        return (tb == null) ? Tablebase.NONE : tb.probe(g.getBoard());
+    }
+
+    private ComputerMode pickComputerMode() {
+        System.out.println("Computer: 1) random  2) engine");
+        System.out.print("> ");
+        int v = readMenuInt();
+        return (v == 2) ? ComputerMode.ENGINE : ComputerMode.RANDOM;
+    }
+
     private int nextGameId() {
         int mx = 0;
         for (Integer k : games.keySet()) if (k != null && k > mx) mx = k;
@@ -321,7 +347,7 @@ public class Main {
         char x = Character.toUpperCase(s.charAt(0));
         int y;
         try { y = Integer.parseInt(s.substring(1)); } catch (Exception e) { return null; }
-        return new Position(x, y);
+        return Position.of(x, y);
     }
 
     public static void main(String[] args) {
@@ -0,0 +1,129 @@
+package app;
+
+import game.Board;
+import game.Game;
+import game.MoveList;
+import game.UndoInfo;
+import io.JsonReaderUtil;
+import model.Colors;
+import org.json.simple.parser.ParseException;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+
+// numara frunzele arborelui de mutari legale (perft) - benchmark + oracol pentru generator
+// usage: java app.Perft perft <depth> [gameId]
+//        java app.Perft divide <depth> [gameId]
+public class Perft {
+
+    private final Board board;
+    private final MoveList[] lists;
+    private final UndoInfo[] undos;
+
+    public Perft(Board board, int maxDepth) {
+        this.board = board;
+        this.lists = new MoveList[maxDepth + 1];
+        this.undos = new UndoInfo[maxDepth + 1];
+        for (int i = 0; i <= maxDepth; i++) {
+            lists[i] = new MoveList();
+            undos[i] = new UndoInfo();
+        }
+    }
+
+    public long perft(Colors side, int depth) {
+        if (depth < 0) throw new IllegalArgumentException("depth < 0: " + depth);
+        return perft(side, depth, 0);
+    }
+
+    private long perft(Colors side, int depth, int ply) {
+        if (depth == 0) return 1;
+
+        MoveList ml = lists[ply];
+        board.generateLegalMoves(side, ml);
+        if (depth == 1) return ml.size();
+
+        Colors next = opposite(side);
+        long nodes = 0;
+        for (int i = 0; i < ml.size(); i++) {
+            board.makeMove(ml.get(i), undos[ply]);
+            nodes += perft(next, depth - 1, ply + 1);
+            board.unmakeMove(undos[ply]);
+        }
+        return nodes;
+    }
+
+    // perft pe fiecare mutare de la radacina
+    public long divide(Colors side, int depth) {
+        if (depth < 1) return 1;
+
+        MoveList root = new MoveList();
+        board.generateLegalMoves(side, root);
+
+        long total = 0;
+        for (int i = 0; i < root.size(); i++) {
+            int m = root.get(i);
+            board.makeMove(m, undos[0]);
+            long n = perft(opposite(side), depth - 1, 1);
+            board.unmakeMove(undos[0]);
+
+            System.out.println(MoveList.toString(m) + ": " + n);
+            total += n;
+        }
+        System.out.println("Moves: " + root.size());
+        return total;
+    }
+
+    private static Colors opposite(Colors c) {
+        return (c == Colors.WHITE) ? Colors.BLACK : Colors.WHITE;
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.out.println("Usage: perft <depth> [gameId] | divide <depth> [gameId]");
+            return;
+        }
+
+        String mode = args[0];
+        int depth;
+        try { depth = Integer.parseInt(args[1]); }
+        catch (NumberFormatException e) { System.out.println("Invalid depth: " + args[1]); return; }
+        if (depth < 0) {
+            System.out.println("Invalid depth: " + args[1]);
+            System.out.println("Usage: perft <depth> [gameId] | divide <depth> [gameId]");
+            return;
+        }
+
+        Board board = new Board();
+        Colors side = Colors.WHITE;
+
+        if (args.length >= 3) {
+            Map<Integer, Game> games;
+            try { games = JsonReaderUtil.readGamesAsMap(Path.of("input", "games.json")); }
+            catch (IOException | ParseException e) { System.out.println("LOAD ERROR: " + e.getMessage()); return; }
+
+            Game g;
+            try { g = games.get(Integer.parseInt(args[2])); }
+            catch (NumberFormatException e) { g = null; }
+            if (g == null) { System.out.println("Game not found: " + args[2]); return; }
+
+            board = g.getBoard();
+            side = (g.getCurrentTurn() == Colors.BLACK) ? Colors.BLACK : Colors.WHITE;
+        } else {
+            board.initialize();
+        }
+
+        Perft p = new Perft(board, Math.max(depth, 1));
+
+        long start = System.nanoTime();
+        long nodes;
+        if (mode.equalsIgnoreCase("divide")) nodes = p.divide(side, depth);
+        else if (mode.equalsIgnoreCase("perft")) nodes = p.perft(side, depth);
+        else { System.out.println("Unknown mode: " + mode); return; }
+        long ns = Math.max(1, System.nanoTime() - start);
+
+        System.out.println("Nodes: " + nodes);
+        System.out.println("Time: " + (ns / 1_000_000) + " ms");
+        System.out.println("NPS: " + (nodes * 1_000_000_000L / ns));
+    }
+}
@@ -0,0 +1,172 @@
+package app;
+
+import engine.EngineMoveStrategy;
+import engine.SearchLimits;
+import game.ComputerMode;
+import game.Game;
+import game.Player;
+import model.Colors;
+
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// N jocuri computer vs computer in paralel, fara consola; fiecare joc are Game / Board / Player-i proprii
+// (nicio stare comuna in afara de tabelele statice read-only), deci scaleaza cu numarul de fire
+// usage: java app.Tournament [--games N] [--threads T] [--mode random|engine] [--ms timp/mutare]
+//                            [--max-plies P] [--hash mb] [--search-threads S]
+public class Tournament {
+
+    public enum Result { MATE, STALEMATE, REPETITION, FIFTY_MOVES, PLY_LIMIT }
+
+    private static final class GameStats {
+        Result result;
+        int plies;
+        long[] moveNanos;
+    }
+
+    private static final String USAGE = "usage: java app.Tournament [--games N] [--threads T] [--mode random|engine] [--ms timp/mutare]"
+            + " [--max-plies P] [--hash mb] [--search-threads S]";
+
+    private int games = 100;
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private ComputerMode mode = ComputerMode.RANDOM;
+    private long moveMillis = 50;
+    private int maxPlies = 1000;
+    private int hashMegabytes = 4;
+    private int searchThreads = 1;   // fire de cautare per computer; jocurile ruleaza deja in paralel
+
+    public static void main(String[] args) throws Exception {
+        Tournament t = new Tournament();
+        for (int i = 0; i < args.length; i++) {
+            String a = args[i];
+            String v = (i + 1 < args.length) ? args[i + 1] : null;
+            // valoare nenumerica / mod necunoscut: mesaj + usage, ca la argumentele necunoscute
+            try {
+                if (a.equals("--games") && v != null) { t.games = Integer.parseInt(v); i++; }
+                else if (a.equals("--threads") && v != null) { t.threads = Integer.parseInt(v); i++; }
+                else if (a.equals("--mode") && v != null) { t.mode = ComputerMode.valueOf(v.toUpperCase(Locale.ROOT)); i++; }
+                else if (a.equals("--ms") && v != null) { t.moveMillis = Long.parseLong(v); i++; }
+                else if (a.equals("--max-plies") && v != null) { t.maxPlies = Integer.parseInt(v); i++; }
+                else if (a.equals("--hash") && v != null) { t.hashMegabytes = Integer.parseInt(v); i++; }
+                else if (a.equals("--search-threads") && v != null) { t.searchThreads = Integer.parseInt(v); i++; }
+                else { System.out.println("Unknown argument: " + a); System.out.println(USAGE); return; }
+            } catch (IllegalArgumentException e) {   // include NumberFormatException
+                System.out.println("Invalid value for " + a + ": " + v);
+                System.out.println(USAGE);
+                return;
+            }
+        }
+        t.run();
+    }
+
+    public void run() throws Exception {
+        int poolSize = Math.max(1, threads);
+        ExecutorService pool = Executors.newFixedThreadPool(poolSize);
+        List<Future<GameStats>> futures = new ArrayList<>(games);
+
+        long start = System.nanoTime();
+        try {
+            for (int i = 0; i < games; i++) {
+                int id = i + 1;
+                futures.add(pool.submit(() -> play(id)));
+            }
+
+            EnumMap<Result, Integer> results = new EnumMap<>(Result.class);
+            long totalPlies = 0;
+            int moves = 0;
+            List<long[]> latencies = new ArrayList<>(games);
+            for (Future<GameStats> f : futures) {
+                GameStats s = f.get();
+                results.merge(s.result, 1, Integer::sum);
+                totalPlies += s.plies;
+                moves += s.moveNanos.length;
+                latencies.add(s.moveNanos);
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            long[] all = new long[moves];
+            int k = 0;
+            for (long[] l : latencies) {
+                System.arraycopy(l, 0, all, k, l.length);
+                k += l.length;
+            }
+            Arrays.sort(all);
+
+            System.out.printf(Locale.ROOT, "Games: %d  threads: %d  mode: %s%s%n", games, poolSize, mode,
+                    (mode == ComputerMode.ENGINE) ? "  search threads: " + searchThreads : "");
+            System.out.printf(Locale.ROOT, "Time: %.2f s  (%.1f games/s)%n", seconds, games / seconds);
+            System.out.printf(Locale.ROOT, "Avg plies: %.1f%n", games == 0 ? 0.0 : (double) totalPlies / games);
+            for (Result r : Result.values()) {
+                int n = results.getOrDefault(r, 0);
+                System.out.printf(Locale.ROOT, "  %-12s %6d  (%.1f%%)%n", r, n, games == 0 ? 0.0 : n * 100.0 / games);
+            }
+            System.out.printf(Locale.ROOT, "Move latency: p50 %.1f us  p99 %.1f us  (%d moves)%n",
+                    percentile(all, 50) / 1e3, percentile(all, 99) / 1e3, moves);
+        } finally {
+            pool.shutdownNow();
+            EngineWarnings.report(System.err);
+        }
+    }
+
+    private GameStats play(int id) throws Exception {
+        Player white = newPlayer(Colors.WHITE);
+        Player black = newPlayer(Colors.BLACK);
+        Game g = new Game(id, white, black);
+        g.start();
+
+        long[] nanos = new long[Math.max(16, maxPlies)];
+        int plies = 0;
+        GameStats s = new GameStats();
+
+        while (true) {
+            if (g.isDraw()) {
+                s.result = (g.getHalfmoveClock() >= 100) ? Result.FIFTY_MOVES : Result.REPETITION;
+                break;
+            }
+            if (g.checkForCheckMate()) {
+                s.result = Result.MATE;
+                break;
+            }
+            if (g.checkForStaleMate()) {
+                s.result = Result.STALEMATE;
+                break;
+            }
+            if (plies >= maxPlies) {
+                s.result = Result.PLY_LIMIT;
+                break;
+            }
+
+            Player p = (g.getCurrentTurn() == Colors.WHITE) ? white : black;
+            long t0 = System.nanoTime();
+            g.makeRandomMoveFor(p);
+            nanos[plies++] = System.nanoTime() - t0;
+        }
+
+        s.plies = plies;
+        s.moveNanos = Arrays.copyOf(nanos, plies);
+        return s;
+    }
+
+    // ambii se numesc "computer": Game.getComputerPlayer trebuie sa gaseasca unul
+    private Player newPlayer(Colors color) {
+        Player p = new Player("computer", color);
+        p.setMode(mode);
+        if (mode == ComputerMode.ENGINE) {
+            EngineMoveStrategy engine = new EngineMoveStrategy();
+            engine.setPondering(false);
+            engine.setSearchLimits(SearchLimits.time(moveMillis));
+            engine.setHashMegabytes(hashMegabytes);
+            engine.setSearchThreads(searchThreads);
+            p.setStrategy(engine);
+        }
+        return p;
+    }
+
+    private static long percentile(long[] sorted, int pct) {
+        if (sorted.length == 0) return 0;
+        int i = (int) Math.ceil(pct / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, i))];
+    }
+}
@@ -0,0 +1,271 @@
+package bench;
+
+import game.Board;
+import game.Game;
+import game.Move;
+import game.Player;
+import io.GamesRepository;
+import model.Colors;
+import model.Position;
+import model.pieces.Pawn;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+
+// micro-benchmark-uri pentru game / model / io, cu baseline salvat pe disc
+// usage: java bench.Benchmarks [--filter text] [--rounds n] [--round-ms ms]
+//                              [--save baseline.properties] [--compare baseline.properties]
+// baseline-ul de referinta e bench/baseline.properties; se compara cu --compare bench/baseline.properties
+// si se regenereaza (din radacina proiectului, pe masina pe care se compara) cu --save bench/baseline.properties
+public class Benchmarks {
+
+    // operatia masurata; rezultatul intra in "sink" ca JIT-ul sa nu o elimine
+    private interface Op {
+        long run() throws Exception;
+    }
+
+    private static final class Bench {
+        final String name;
+        final Op op;
+        Bench(String name, Op op) { this.name = name; this.op = op; }
+    }
+
+    private static final double REGRESSION_PCT = 10.0;
+    private static final int POSITIONS = 64;   // putere a lui 2
+
+    private final List<Bench> benches = new ArrayList<>();
+    private int rounds = 5;
+    private long roundMs = 500;
+    private long sink;
+
+    // ---------------- benchmarks ----------------
+
+    private void register() throws Exception {
+        Board start = new Board();
+        start.initialize();
+
+        Game mid = scholarsGame(6);          // pozitie de mijloc, fara sah
+        Game mate = scholarsGame(7);         // negrul e mat
+        Board midBoard = mid.getBoard();
+
+        Position[] all = new Position[64];
+        for (int i = 0; i < 64; i++) all[i] = Position.of(i);
+
+        benches.add(new Bench("Board.getPieceAt (64 squares)", () -> {
+            long n = 0;
+            for (Position p : all) if (midBoard.getPieceAt(p) != null) n++;
+            return n;
+        }));
+
+        Position e2 = Position.of('E', 2), e4 = Position.of('E', 4);
+        Position c4 = Position.of('C', 4), f7 = Position.of('F', 7), f3 = Position.of('F', 3);
+        benches.add(new Bench("Board.isValidMove (start E2-E4)", () -> start.isValidMove(e2, e4, Colors.WHITE) ? 1 : 0));
+        benches.add(new Bench("Board.isValidMove (mid C4-F7)", () -> midBoard.isValidMove(c4, f7, Colors.WHITE) ? 1 : 0));
+
+        benches.add(new Bench("Board.isInCheck (mid)", () -> midBoard.isInCheck(Colors.BLACK) ? 1 : 0));
+        benches.add(new Bench("Board.isInCheck (mated)", () -> mate.getBoard().isInCheck(Colors.BLACK) ? 1 : 0));
+
+        // Game tine in cache pozitia curenta: alternam tabla cu o copie identica (alt obiect),
+        // ca fiecare apel sa genereze din nou mutarile in loc sa masoare un cache hit
+        benches.add(new Bench("Game.checkForCheckMate (mate)", alternatingBoards(mate, Game::checkForCheckMate)));
+        benches.add(new Bench("Game.checkForCheckMate (no check)", alternatingBoards(mid, Game::checkForCheckMate)));
+
+        // pozitii distincte dintr-un joc real, ca addMove sa inregistreze mutari normale (nu repetitia de 3 ori);
+        // la fiecare 64 de mutari una de pion (ireversibila, ca in joc) goleste tabela de repetitie si ceasul
+        // de 50 de mutari, iar istoricul e resetat din cand in cand ca sa nu creasca la nesfarsit
+        Board[] positions = distinctPositions(POSITIONS, f3);
+        Board afterE4 = start.copy();
+        afterE4.movePiece(e2, e4, Colors.WHITE);
+        Board scratch = new Board();
+        Game recording = new Game(99, new Player("white", Colors.WHITE), new Player("computer", Colors.BLACK));
+        recording.setBoard(scratch);
+        recording.start();
+        Move quiet = new Move(Colors.WHITE, Position.of('G', 1), f3, null);
+        Move pawnPush = new Move(Colors.WHITE, e2, e4, null);
+        long[] counter = { 0 };
+        benches.add(new Bench("Game.addMove (signature + repetition)", () -> {
+            long c = counter[0]++;
+            if ((c & 4095) == 4095) {
+                recording.setBoard(scratch);
+                recording.start();
+            }
+            int i = (int) (c & (POSITIONS - 1));
+            if (i == POSITIONS - 1) {
+                recording.setBoard(afterE4);
+                recording.addMove(pawnPush);
+            } else {
+                recording.setBoard(positions[i]);
+                recording.addMove(quiet);
+            }
+            return recording.getHalfmoveClock();
+        }));
+
+        Player white = new Player("white", Colors.WHITE);
+        benches.add(new Bench("Player.pickRandomLegalMove (start)", () -> white.pickRandomLegalMove(start)[1].getIndex()));
+        benches.add(new Bench("Player.pickRandomLegalMove (mid)", () -> white.pickRandomLegalMove(midBoard)[1].getIndex()));
+
+        // pe o copie a input/games.json, ca sa nu atingem fisierul real
+        Path src = Path.of("input", "games.json");
+        if (Files.exists(src)) {
+            Path tmp = Files.createTempFile("games-bench", ".json");
+            tmp.toFile().deleteOnExit();
+            Files.copy(src, tmp, StandardCopyOption.REPLACE_EXISTING);
+            GamesRepository repo = new GamesRepository(tmp);
+            benches.add(new Bench("GamesRepository.saveOrUpdate (games.json copy)", () -> {
+                repo.saveOrUpdate(mid);
+                return Files.size(tmp);
+            }));
+        }
+    }
+
+    private interface GameCheck {
+        boolean test(Game g);
+    }
+
+    private static Op alternatingBoards(Game g, GameCheck check) {
+        Board[] boards = { g.getBoard(), g.getBoard().copy() };
+        int[] next = { 0 };
+        return () -> {
+            g.setBoard(boards[next[0] ^= 1]);
+            return check.test(g) ? 1 : 0;
+        };
+    }
+
+    // n pozitii cu chei diferite dintr-un joc aleator (reluat daca se termina), fara pion pe patratul "to"
+    // (altfel addMove ar trata mutarea ca ireversibila)
+    private static Board[] distinctPositions(int n, Position to) throws Exception {
+        Board[] out = new Board[n];
+        Set<Long> seen = new HashSet<>();
+        Player w = new Player("white", Colors.WHITE), b = new Player("computer", Colors.BLACK);
+        Game g = new Game(0, w, b);
+        g.start();
+        int k = 0;
+        while (k < n) {
+            if (g.isDraw() || g.checkForCheckMate() || g.checkForStaleMate()) {
+                g = new Game(0, w, b);
+                g.start();
+            }
+            g.makeRandomMoveFor(g.getCurrentTurn() == Colors.WHITE ? w : b);
+            Board board = g.getBoard();
+            if (!(board.getPieceAt(to) instanceof Pawn) && seen.add(board.getHashKey())) out[k++] = board.copy();
+        }
+        return out;
+    }
+
+    // scholar's mate, primele n jumatati de mutare
+    private static Game scholarsGame(int plies) throws Exception {
+        String[][] script = {
+                {"E2", "E4"}, {"E7", "E5"}, {"D1", "H5"}, {"B8", "C6"},
+                {"F1", "C4"}, {"G8", "F6"}, {"H5", "F7"},
+        };
+        Player w = new Player("white", Colors.WHITE);
+        Player b = new Player("computer", Colors.BLACK);
+        Game g = new Game(1000 + plies, w, b);
+        g.start();
+        for (int i = 0; i < plies; i++) {
+            Player p = (i % 2 == 0) ? w : b;
+            g.tryMove(p, parse(script[i][0]), parse(script[i][1]));
+        }
+        return g;
+    }
+
+    private static Position parse(String s) {
+        return Position.of(s.charAt(0), s.charAt(1) - '0');
+    }
+
+    // ---------------- harness ----------------
+
+    private double measure(Bench b) throws Exception {
+        // warmup: o runda nemasurata
+        runFor(b, roundMs);
+
+        double best = Double.MAX_VALUE, sum = 0, sumSq = 0;
+        for (int r = 0; r < rounds; r++) {
+            double ns = runFor(b, roundMs);
+            best = Math.min(best, ns);
+            sum += ns;
+            sumSq += ns * ns;
+        }
+        double mean = sum / rounds;
+        double dev = Math.sqrt(Math.max(0, sumSq / rounds - mean * mean));
+        System.out.printf(Locale.ROOT, "%-48s %12.1f ns/op  (+- %.1f, best %.1f)%n", b.name, mean, dev, best);
+        return mean;
+    }
+
+    // ns/op pentru o runda de ~ms milisecunde
+    private double runFor(Bench b, long ms) throws Exception {
+        long deadline = System.nanoTime() + ms * 1_000_000L;
+        long ops = 0;
+        long start = System.nanoTime();
+        long now;
+        do {
+            for (int i = 0; i < 64; i++) sink += b.op.run();
+            ops += 64;
+            now = System.nanoTime();
+        } while (now < deadline);
+        return (double) (now - start) / ops;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Benchmarks bm = new Benchmarks();
+        String filter = null;
+        Path save = null, compare = null;
+
+        for (int i = 0; i < args.length; i++) {
+            String a = args[i];
+            String v = (i + 1 < args.length) ? args[i + 1] : null;
+            if (a.equals("--filter") && v != null) { filter = v; i++; }
+            else if (a.equals("--rounds") && v != null) { bm.rounds = Integer.parseInt(v); i++; }
+            else if (a.equals("--round-ms") && v != null) { bm.roundMs = Long.parseLong(v); i++; }
+            else if (a.equals("--save") && v != null) { save = Path.of(v); i++; }
+            else if (a.equals("--compare") && v != null) { compare = Path.of(v); i++; }
+            else { System.out.println("Unknown argument: " + a); return; }
+        }
+
+        bm.register();
+
+        Properties baseline = (compare != null) ? load(compare) : null;
+        Properties results = new Properties();
+        int regressions = 0;
+
+        for (Bench b : bm.benches) {
+            if (filter != null && !b.name.toLowerCase(Locale.ROOT).contains(filter.toLowerCase(Locale.ROOT))) continue;
+
+            double ns = bm.measure(b);
+            results.setProperty(b.name, String.format(Locale.ROOT, "%.1f", ns));
+
+            String old = (baseline != null) ? baseline.getProperty(b.name) : null;
+            if (old != null) {
+                double before = Double.parseDouble(old);
+                double pct = (ns - before) * 100.0 / before;
+                boolean regressed = pct > REGRESSION_PCT;
+                if (regressed) regressions++;
+                System.out.printf(Locale.ROOT, "    baseline %.1f ns/op -> %+.1f%%%s%n", before, pct, regressed ? "  REGRESSION" : "");
+            }
+        }
+
+        if (save != null) {
+            try (Writer w = Files.newBufferedWriter(save, StandardCharsets.UTF_8)) {
+                results.store(w, "ns/op per benchmark");
+            }
+            System.out.println("Saved baseline to " + save);
+        }
+        if (baseline != null) System.out.println("Regressions (> " + REGRESSION_PCT + "%): " + regressions);
+        if (bm.sink == 42) System.out.println();
+    }
+
+    private static Properties load(Path p) throws IOException {
+        Properties props = new Properties();
+        if (!Files.exists(p)) return props;
+        try (Reader r = Files.newBufferedReader(p, StandardCharsets.UTF_8)) {
+            props.load(r);
+        }
+        return props;
+    }
+}
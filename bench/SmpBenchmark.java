@@ -0,0 +1,103 @@
+package bench;
+
+import engine.MoveOrdering;
+import engine.ParallelSearch;
+import engine.SearchLimits;
+import engine.SearchResult;
+import engine.TranspositionTable;
+import game.Board;
+import model.Colors;
+import model.Position;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+// speedup-ul cautarii paralele (Lazy SMP) de la 1 la N fire:
+//  - time-to-depth: cat dureaza pana la o adancime fixa, fata de 1 fir
+//  - timp fix: adancimea atinsa si nodurile pe secunda
+// usage: java bench.SmpBenchmark [--threads N] [--depth d] [--ms timp] [--hash mb]
+public class SmpBenchmark {
+
+    public static void main(String[] args) {
+        int maxThreads = Runtime.getRuntime().availableProcessors();
+        int depth = 6;
+        long ms = 1000;
+        int hashMb = 64;
+
+        for (int i = 0; i < args.length; i++) {
+            String a = args[i];
+            String v = (i + 1 < args.length) ? args[i + 1] : null;
+            if (a.equals("--threads") && v != null) { maxThreads = Integer.parseInt(v); i++; }
+            else if (a.equals("--depth") && v != null) { depth = Integer.parseInt(v); i++; }
+            else if (a.equals("--ms") && v != null) { ms = Long.parseLong(v); i++; }
+            else if (a.equals("--hash") && v != null) { hashMb = Integer.parseInt(v); i++; }
+            else { System.out.println("Unknown argument: " + a); return; }
+        }
+
+        List<Board> positions = positions();
+        System.out.println("Positions: " + positions.size() + ", cores: " + Runtime.getRuntime().availableProcessors());
+
+        // warmup JIT pe un fir
+        run(1, positions, SearchLimits.depth(Math.max(1, depth - 2)), hashMb);
+
+        long baseTime = 0;
+        for (int threads = 1; threads <= maxThreads; threads = (threads < maxThreads && threads * 2 > maxThreads) ? maxThreads : threads * 2) {
+            long[] ttd = run(threads, positions, SearchLimits.depth(depth), hashMb);
+            long[] fixed = run(threads, positions, SearchLimits.time(ms), hashMb);
+            if (threads == 1) baseTime = ttd[0];
+
+            double speedup = (ttd[0] > 0) ? (double) baseTime / ttd[0] : 0;
+            double avgDepth = (double) fixed[2] / positions.size();
+            long nps = (fixed[0] > 0) ? fixed[1] * 1000 / fixed[0] : 0;
+            double firstCut = (ttd[3] > 0) ? ttd[4] * 100.0 / ttd[3] : 0;
+            System.out.printf(Locale.ROOT, "threads=%-3d depth %d in %6d ms  speedup %.2fx  first-move cutoffs %.1f%%  |  %d ms/pos: avg depth %.2f, %d nps%n",
+                    threads, depth, ttd[0], speedup, firstCut, ms, avgDepth, nps);
+
+            if (threads == maxThreads) break;
+        }
+    }
+
+    // { timp total ms, noduri, suma adancimilor, cutoff-uri, cutoff-uri la prima mutare } (ultimele pe firul principal)
+    private static long[] run(int threads, List<Board> positions, SearchLimits limits, int hashMb) {
+        long time = 0, nodes = 0, depths = 0, cutoffs = 0, firstCutoffs = 0;
+        for (Board b : positions) {
+            // tabela noua per pozitie, ca rularile sa nu se ajute intre ele
+            ParallelSearch search = new ParallelSearch(threads, new TranspositionTable(hashMb));
+            long start = System.nanoTime();
+            SearchResult r = search.search(b.copy(), limits);
+            time += (System.nanoTime() - start) / 1_000_000L;
+            nodes += r.getNodes();
+            depths += r.getDepth();
+            MoveOrdering ordering = search.getMainEngine().getMoveOrdering();
+            cutoffs += ordering.getCutoffs();
+            firstCutoffs += ordering.getFirstMoveCutoffs();
+            search.close();
+        }
+        return new long[]{ time, nodes, depths, cutoffs, firstCutoffs };
+    }
+
+    private static List<Board> positions() {
+        String[][] lines = {
+                {},
+                {"E2", "E4", "E7", "E5", "G1", "F3", "B8", "C6", "F1", "C4", "G8", "F6"},
+                {"D2", "D4", "D7", "D5", "C2", "C4", "E7", "E6", "B1", "C3", "G8", "F6", "C1", "G5", "F8", "E7"},
+                {"E2", "E4", "C7", "C5", "G1", "F3", "D7", "D6", "D2", "D4", "C5", "D4", "F3", "D4", "G8", "F6"},
+        };
+        List<Board> list = new ArrayList<>();
+        for (String[] line : lines) {
+            Board b = new Board();
+            b.initialize();
+            b.setSideToMove(Colors.WHITE);
+            for (int i = 0; i < line.length; i += 2) {
+                b.makeMove(parse(line[i]), parse(line[i + 1]), 'Q');
+            }
+            list.add(b);
+        }
+        return list;
+    }
+
+    private static Position parse(String s) {
+        return Position.of(s.charAt(0), s.charAt(1) - '0');
+    }
+}
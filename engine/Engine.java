@@ -0,0 +1,319 @@
+package engine;
+
+import game.Board;
+import game.MoveList;
+import game.UndoInfo;
+import model.Colors;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// negamax cu alpha-beta si iterative deepening, construit pe makeMove/unmakeMove din Board
+// (o instanta = un fir de cautare; buffer-ele pe ply sunt refolosite intre cautari)
+public class Engine {
+
+    public static final int INFINITY = 1_000_000;
+    public static final int MATE = 100_000;
+    public static final int MAX_PLY = 128;
+
+    // scorurile de mat: MATE - distanta; distanta = ply-ul din cautare + DTM-ul din tablebase (fiecare cel mult MAX_PLY)
+    public static final int MATE_BOUND = MATE - 2 * MAX_PLY;
+
+    // remiza pierduta (regula jocului: computer-ul pierde la remiza), sub orice mat dar peste orice evaluare
+    public static final int DRAW_LOSS = 10_000;
+
+    private static final long[] NO_HISTORY = new long[0];
+
+    private final MoveList[] lists = new MoveList[MAX_PLY];
+    private final UndoInfo[] undos = new UndoInfo[MAX_PLY];
+    private final long[] pathKeys = new long[MAX_PLY];   // cheile pozitiilor de pe drumul curent, pe ply
+    private final int[] seeGain = new int[StaticExchange.MAX_EXCHANGE];   // buffer pentru SEE, fara alocari in quiesce
+
+    private final TranspositionTable tt;
+    private final MoveOrdering ordering = new MoveOrdering(MAX_PLY);
+
+    private Board board;
+    private long nodes;
+    private long deadline;
+    private long nodeLimit;
+    private volatile boolean stopped;
+    private AtomicBoolean abort;  // oprire comuna pentru toate firele unei cautari paralele
+    private Tablebase tablebase = Tablebase.shared();   // null = fara tablebase-uri
+
+    private long[] history = NO_HISTORY;   // cheile din partida de dinaintea radacinii (de la ultima mutare ireversibila)
+    private int drawScore;                 // scorul unei repetitii pentru partea de la radacina
+
+    private int rootBest;
+    private int pvMove;   // cea mai buna mutare de la iteratia anterioara, prima la radacina
+
+    public Engine() { this(new TranspositionTable(16)); }
+
+    // tabela poate fi impartita intre mai multe instante (fire)
+    public Engine(TranspositionTable tt) {
+        this.tt = tt;
+        for (int i = 0; i < MAX_PLY; i++) {
+            lists[i] = new MoveList();
+            undos[i] = new UndoInfo();
+        }
+    }
+
+    // cere oprirea cautarii curente (ex. din alt fir)
+    public void stop() { stopped = true; }
+
+    void setAbort(AtomicBoolean abort) { this.abort = abort; }
+
+    public long getNodes() { return nodes; }
+    public TranspositionTable getTranspositionTable() { return tt; }
+    public MoveOrdering getMoveOrdering() { return ordering; }
+    public Tablebase getTablebase() { return tablebase; }
+    public void setTablebase(Tablebase tablebase) { this.tablebase = tablebase; }
+    public int getDrawScore() { return drawScore; }
+    public void setDrawScore(int drawScore) { this.drawScore = drawScore; }
+
+    public SearchResult search(Board board, SearchLimits limits) {
+        return search(board, limits, NO_HISTORY);
+    }
+
+    // history = cheile Zobrist ale pozitiilor deja jucate (vezi Game.getRepetitionKeys), ca repetitiile sa se vada
+    public SearchResult search(Board board, SearchLimits limits, long[] history) {
+        tt.newSearch();
+        return search(board, limits, history, 1);
+    }
+
+    // folosit de ParallelSearch: varsta tabelei e avansata o singura data, de apelant;
+    // startDepth > 1 ca firele ajutatoare sa nu mearga in pas cu firul principal
+    SearchResult search(Board board, SearchLimits limits, long[] history, int startDepth) {
+        this.board = board;
+        this.history = (history != null) ? history : NO_HISTORY;
+        this.nodes = 0;
+        this.stopped = abort != null && abort.get();
+        ordering.newSearch();
+
+        long start = System.nanoTime();
+        deadline = (limits.getTimeMillis() > 0) ? start + limits.getTimeMillis() * 1_000_000L : Long.MAX_VALUE;
+        nodeLimit = (limits.getMaxNodes() > 0) ? limits.getMaxNodes() : Long.MAX_VALUE;
+
+        MoveList root = lists[0];
+        board.generateLegalMoves(board.getSideToMove(), root);
+        if (root.isEmpty()) {
+            int score = board.isInCheck(board.getSideToMove()) ? -MATE : 0;
+            return new SearchResult(-1, score, 0, 0, 0);
+        }
+
+        // final din tablebase: mutarea perfecta direct, fara cautare
+        SearchResult tb = tablebaseRoot(root, start);
+        if (tb != null) return tb;
+
+        int bestMove = root.get(0);
+        int bestScore = 0;
+        int completedDepth = 0;
+        int maxDepth = Math.max(1, Math.min(limits.getMaxDepth(), MAX_PLY - 1));
+        pvMove = 0;
+
+        for (int depth = Math.min(startDepth, maxDepth); depth <= maxDepth; depth++) {
+            rootBest = -1;
+            int score = negamax(depth, 0, -INFINITY, INFINITY);
+
+            // iteratie intrerupta: pastram rezultatul complet anterior
+            if (stopped && completedDepth > 0) break;
+            if (rootBest >= 0) {
+                bestMove = rootBest;
+                bestScore = score;
+                completedDepth = depth;
+            }
+            if (stopped) break;
+
+            // mutarea cea mai buna merge prima la iteratia urmatoare
+            pvMove = bestMove;
+
+            if (Math.abs(bestScore) >= MATE_BOUND) break;
+        }
+
+        long ms = (System.nanoTime() - start) / 1_000_000L;
+        return new SearchResult(bestMove, bestScore, completedDepth, nodes, ms);
+    }
+
+    private int negamax(int depth, int ply, int alpha, int beta) {
+        if (depth <= 0) return quiesce(ply, alpha, beta);
+        if ((++nodes & 1023) == 0) checkLimits();
+        if (stopped) return 0;
+
+        long key = board.getHashKey();
+        pathKeys[ply] = key;
+        if (ply > 0 && isRepetition(key, ply)) return (ply & 1) == 0 ? drawScore : -drawScore;
+
+        int tbScore = probeTablebase(ply);
+        if (tbScore != Tablebase.NONE) return tbScore;
+
+        Colors side = board.getSideToMove();
+        MoveList ml = lists[ply];
+        // la radacina lista e deja generata (si ordonata de iteratia anterioara)
+        if (ply > 0) board.generateLegalMoves(side, ml);
+
+        if (ml.isEmpty()) return board.isInCheck(side) ? -MATE + ply : 0;
+        if (ply >= MAX_PLY - 1) return board.evaluate();
+
+        long entry = tt.probe(key);
+        int ttMove = 0;
+        if (entry != 0) {
+            if (ply > 0 && TranspositionTable.depth(entry) >= depth) {
+                int ttScore = fromTable(TranspositionTable.score(entry), ply);
+                int bound = TranspositionTable.bound(entry);
+                if (bound == TranspositionTable.BOUND_EXACT) return ttScore;
+                if (bound == TranspositionTable.BOUND_LOWER && ttScore >= beta) return ttScore;
+                if (bound == TranspositionTable.BOUND_UPPER && ttScore <= alpha) return ttScore;
+            }
+            // mutarea din tabela (daca e legala aici) se cauta prima
+            ttMove = TranspositionTable.move(entry);
+        }
+        if (ply == 0 && pvMove != 0) ttMove = pvMove;
+
+        int color = (side == Colors.WHITE) ? 0 : 1;
+        ordering.score(board, ml, ply, ttMove, color);
+
+        int alphaOrig = alpha;
+        int bestMove = 0;
+
+        UndoInfo undo = undos[ply];
+        for (int i = 0; i < ml.size(); i++) {
+            int m = ordering.pickNext(ml, ply, i);
+
+            board.makeMove(m, undo);
+            int score = -negamax(depth - 1, ply + 1, -beta, -alpha);
+            board.unmakeMove(undo);
+
+            if (stopped) return 0;
+
+            if (score > alpha) {
+                alpha = score;
+                bestMove = m;
+                if (ply == 0) rootBest = m;
+                if (alpha >= beta) {
+                    ordering.onCutoff(m, ply, depth, color, i);
+                    break;
+                }
+            }
+        }
+
+        int bound = (alpha >= beta) ? TranspositionTable.BOUND_LOWER
+                : (alpha > alphaOrig) ? TranspositionTable.BOUND_EXACT : TranspositionTable.BOUND_UPPER;
+        tt.store(key, bestMove, toTable(alpha, ply), depth, bound);
+        return alpha;
+    }
+
+    // la frunze: doar capturi si promovari (in sah: toate raspunsurile), ca evaluarea sa nu
+    // cada in mijlocul unui schimb; capturile pierzatoare dupa SEE nu se mai cauta
+    private int quiesce(int ply, int alpha, int beta) {
+        if ((++nodes & 1023) == 0) checkLimits();
+        if (stopped) return 0;
+
+        int tbScore = probeTablebase(ply);
+        if (tbScore != Tablebase.NONE) return tbScore;
+
+        Colors side = board.getSideToMove();
+        MoveList ml = lists[ply];
+        board.generateLegalMoves(side, ml);
+
+        boolean inCheck = board.isInCheck(side);
+        if (ml.isEmpty()) return inCheck ? -MATE + ply : 0;
+        if (ply >= MAX_PLY - 1) return board.evaluate();
+
+        if (!inCheck) {
+            // "stand pat": partea la mutare poate refuza orice captura
+            int standPat = board.evaluate();
+            if (standPat >= beta) return standPat;
+            if (standPat > alpha) alpha = standPat;
+
+            int n = 0;
+            for (int i = 0; i < ml.size(); i++) {
+                int m = ml.get(i);
+                char promo = MoveList.promotion(m);
+                if (promo != ' ' && promo != 'Q') continue;
+                if (!MoveList.isCapture(m) && promo == ' ') continue;
+                if (StaticExchange.see(board, m, seeGain) < 0) continue;
+                ml.set(n++, m);
+            }
+            ml.truncate(n);
+        }
+
+        int color = (side == Colors.WHITE) ? 0 : 1;
+        ordering.score(board, ml, ply, 0, color);
+
+        UndoInfo undo = undos[ply];
+        for (int i = 0; i < ml.size(); i++) {
+            int m = ordering.pickNext(ml, ply, i);
+
+            board.makeMove(m, undo);
+            int score = -quiesce(ply + 1, -beta, -alpha);
+            board.unmakeMove(undo);
+
+            if (stopped) return 0;
+
+            if (score > alpha) {
+                alpha = score;
+                if (alpha >= beta) break;
+            }
+        }
+        return alpha;
+    }
+
+    // pozitia a mai aparut pe drumul curent (aceeasi parte la mutare: din 2 in 2 ply) sau in partida
+    private boolean isRepetition(long key, int ply) {
+        for (int i = ply - 2; i >= 0; i -= 2) {
+            if (pathKeys[i] == key) return true;
+        }
+        for (int i = history.length - 1; i >= 0; i--) {
+            if (history[i] == key) return true;
+        }
+        return false;
+    }
+
+    // scorul exact din tablebase, relativ la radacina; NONE daca pozitia nu e acoperita
+    private int probeTablebase(int ply) {
+        if (tablebase == null || ply == 0 || Long.bitCount(board.getOccupied()) > Tablebase.MAX_PIECES) return Tablebase.NONE;
+        int score = tablebase.probe(board);
+        if (score == Tablebase.NONE || score == 0) return score;
+        return (score > 0) ? score - ply : score + ply;
+    }
+
+    // la radacina: fiecare mutare e evaluata din tabela; null daca vreo pozitie urmatoare nu e acoperita
+    private SearchResult tablebaseRoot(MoveList root, long start) {
+        if (tablebase == null || Long.bitCount(board.getOccupied()) > Tablebase.MAX_PIECES) return null;
+        if (tablebase.probe(board) == Tablebase.NONE) return null;
+
+        UndoInfo undo = undos[0];
+        int bestMove = -1, bestScore = -INFINITY;
+        for (int i = 0; i < root.size(); i++) {
+            int m = root.get(i);
+            board.makeMove(m, undo);
+            nodes++;
+            int child = probeTablebase(1);
+            board.unmakeMove(undo);
+
+            if (child == Tablebase.NONE) return null;
+            if (-child > bestScore) {
+                bestScore = -child;
+                bestMove = m;
+            }
+        }
+        long ms = (System.nanoTime() - start) / 1_000_000L;
+        return new SearchResult(bestMove, bestScore, 1, nodes, ms);
+    }
+
+    // scorurile de mat se tin in tabela relativ la pozitie, nu la radacina
+    private static int toTable(int score, int ply) {
+        if (score >= MATE_BOUND) return score + ply;
+        if (score <= -MATE_BOUND) return score - ply;
+        return score;
+    }
+
+    private static int fromTable(int score, int ply) {
+        if (score >= MATE_BOUND) return score - ply;
+        if (score <= -MATE_BOUND) return score + ply;
+        return score;
+    }
+
+    private void checkLimits() {
+        if (nodes >= nodeLimit || System.nanoTime() >= deadline) stopped = true;
+        if (abort != null && abort.get()) stopped = true;
+    }
+}
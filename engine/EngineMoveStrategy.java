@@ -0,0 +1,119 @@
+package engine;
+
+import game.Board;
+import game.MoveStrategy;
+
+// computer-ul in modul ENGINE: carte de deschideri, apoi raspuns din ponder (daca omul a jucat o mutare
+// la care ne-am gandit), altfel cautare (Lazy SMP pe searchThreads fire, cu tabela comuna)
+public class EngineMoveStrategy implements MoveStrategy {
+
+    private SearchLimits searchLimits = new SearchLimits();
+    private int hashMegabytes = 16;
+    private int searchThreads = Runtime.getRuntime().availableProcessors();   // >1 = Lazy SMP, cu tabela comuna
+    private ParallelSearch engine;
+    private OpeningBook book;        // incarcata la prima mutare (vezi book())
+    private boolean bookLoaded;
+    private boolean ponder = true;   // cauta in fundal cat timp omul e la mutare
+    private Ponderer ponderer;
+    private SearchResult lastSearch;
+
+    public SearchLimits getSearchLimits() { return searchLimits; }
+    public void setSearchLimits(SearchLimits limits) { if (limits != null) this.searchLimits = limits; }
+    public SearchResult getLastSearch() { return lastSearch; }
+
+    // null = fara carte; altfel se foloseste OpeningBook.shared() la prima mutare
+    public void setOpeningBook(OpeningBook book) {
+        this.book = book;
+        this.bookLoaded = true;
+    }
+
+    // marimea tabelei de transpozitie a motorului; se aplica la urmatoarea cautare
+    public int getHashMegabytes() { return hashMegabytes; }
+    public void setHashMegabytes(int mb) {
+        if (mb > 0 && mb != hashMegabytes) {
+            hashMegabytes = mb;
+            close();
+        }
+    }
+
+    public int getSearchThreads() { return searchThreads; }
+    public void setSearchThreads(int threads) {
+        if (threads > 0 && threads != searchThreads) {
+            searchThreads = threads;
+            close();
+        }
+    }
+
+    public boolean isPondering() { return ponder; }
+    public void setPondering(boolean ponder) {
+        this.ponder = ponder;
+        if (!ponder && ponderer != null) ponderer.clear();
+    }
+
+    @Override
+    public void close() {
+        if (ponderer != null) ponderer.clear();
+        ponderer = null;
+        if (engine != null) engine.close();
+        engine = null;
+    }
+
+    private void ensureEngine() {
+        if (engine == null) engine = new ParallelSearch(searchThreads, new TranspositionTable(hashMegabytes));
+    }
+
+    private OpeningBook book() {
+        if (!bookLoaded) {
+            book = OpeningBook.shared();
+            bookLoaded = true;
+        }
+        return book;
+    }
+
+    private static int drawScore(boolean drawIsLoss) {
+        return drawIsLoss ? -Engine.DRAW_LOSS : 0;
+    }
+
+    @Override
+    public void startPondering(Board b, long[] history, boolean drawIsLoss) {
+        if (!ponder || b == null) return;
+        ensureEngine();
+        if (ponderer == null) ponderer = new Ponderer(engine.getTranspositionTable());
+        ponderer.setDrawScore(drawScore(drawIsLoss));
+        ponderer.start(b, searchLimits, history);
+    }
+
+    // raspunsurile gata calculate raman in cache
+    @Override
+    public void stopPondering() {
+        if (ponderer != null) ponderer.cancel();
+    }
+
+    @Override
+    public int pickMove(Board b, long[] history, boolean drawIsLoss) {
+        if (b == null) return -1;
+
+        // in deschidere: mutare din carte, fara cautare
+        OpeningBook ob = book();
+        int bookMove = (ob != null) ? ob.probe(b) : -1;
+        if (bookMove >= 0) {
+            lastSearch = new SearchResult(bookMove, 0, 0, 0, 0);
+            return bookMove;
+        }
+
+        // omul a jucat o mutare la care ne-am gandit deja
+        if (ponderer != null) {
+            ponderer.cancel();
+            SearchResult hit = ponderer.take(b.getHashKey());
+            if (hit != null && hit.hasMove() && b.generateLegalMoves(b.getSideToMove()).contains(hit.getBestMove())) {
+                lastSearch = hit;
+                return hit.getBestMove();
+            }
+        }
+
+        ensureEngine();
+        engine.setDrawScore(drawScore(drawIsLoss));
+        lastSearch = engine.search(b, searchLimits, history);
+        return lastSearch.getBestMove();
+    }
+}
@@ -0,0 +1,118 @@
+package engine;
+
+import game.Board;
+import game.Evaluation;
+import game.MoveList;
+import model.pieces.Piece;
+
+// ordinea mutarilor pentru alpha-beta, totul pe array-uri primitive:
+//   1. mutarea din tabela de transpozitie (sau cea mai buna de la iteratia anterioara, la radacina)
+//   2. capturi si promovari, dupa MVV-LVA (victima cea mai valoroasa, atacatorul cel mai ieftin)
+//   3. doua mutari "killer" pe ply (mutari linistite care au dat cutoff la acelasi ply)
+//   4. restul, dupa tabela history [culoare][from][to]
+// mutarile nu se sorteaza complet: pickNext alege la fiecare pas maximul din ce a ramas
+public class MoveOrdering {
+
+    private static final int TT_MOVE = 1 << 30;
+    private static final int CAPTURE = 1 << 28;
+    private static final int KILLER_1 = 1 << 27;
+    private static final int KILLER_2 = KILLER_1 - 1;
+    private static final int HISTORY_MAX = 1 << 20;
+
+    // regele ca atacator: cel mai scump, dupa scara din Evaluation (unde valoreaza 0)
+    private static final int KING_ATTACKER = 100;
+
+    private final int[][] scores;
+    private final int[][] killers;
+    private final int[][][] history = new int[2][64][64];
+
+    // cate noduri au dat cutoff si la cate dintre ele a fost prima mutare incercata
+    private long cutoffs;
+    private long firstMoveCutoffs;
+
+    public MoveOrdering(int maxPly) {
+        scores = new int[maxPly][256];
+        killers = new int[maxPly][2];
+    }
+
+    // la inceputul unei cautari: killerii nu mai sunt relevanti, history-ul doar se atenueaza
+    public void newSearch() {
+        for (int[] k : killers) { k[0] = 0; k[1] = 0; }
+        ageHistory();
+        cutoffs = 0;
+        firstMoveCutoffs = 0;
+    }
+
+    public void score(Board board, MoveList ml, int ply, int ttMove, int color) {
+        int[] s = scores[ply];
+        int[] k = killers[ply];
+        for (int i = 0; i < ml.size(); i++) {
+            int m = ml.get(i);
+            int from = MoveList.from(m), to = MoveList.to(m);
+            char promo = MoveList.promotion(m);
+
+            if (m == ttMove) s[i] = TT_MOVE;
+            else if (MoveList.isCapture(m) || promo != ' ') s[i] = CAPTURE + mvvLva(board, m);
+            else if (m == k[0]) s[i] = KILLER_1;
+            else if (m == k[1]) s[i] = KILLER_2;
+            else s[i] = history[color][from][to];
+        }
+    }
+
+    // aduce pe pozitia i mutarea cu scorul cel mai mare dintre cele ramase
+    public int pickNext(MoveList ml, int ply, int i) {
+        int[] s = scores[ply];
+        int best = i;
+        for (int j = i + 1; j < ml.size(); j++) if (s[j] > s[best]) best = j;
+        if (best != i) {
+            ml.swap(i, best);
+            int t = s[i]; s[i] = s[best]; s[best] = t;
+        }
+        return ml.get(i);
+    }
+
+    public static int mvvLva(Board board, int move) {
+        Piece victim = board.getPieceAt(MoveList.to(move));
+        Piece attacker = board.getPieceAt(MoveList.from(move));
+        int v = (victim != null) ? Evaluation.pieceValue(victim) : 0;
+        int a = (attacker != null) ? Evaluation.pieceValue(attacker) : 0;
+        if (a == 0) a = KING_ATTACKER;
+
+        char promo = MoveList.promotion(move);
+        if (promo != ' ') v += Evaluation.pieceValue(Board.PIECE_TYPES.indexOf(promo));
+        return v * 128 - a;
+    }
+
+    // mutare linistita care a dat cutoff: killer pe ply + bonus de history (depth^2)
+    public void onCutoff(int move, int ply, int depth, int color, int moveIndex) {
+        cutoffs++;
+        if (moveIndex == 0) firstMoveCutoffs++;
+
+        if (MoveList.isCapture(move) || MoveList.promotion(move) != ' ') return;
+
+        int[] k = killers[ply];
+        if (k[0] != move) {
+            k[1] = k[0];
+            k[0] = move;
+        }
+
+        int[] h = history[color][MoveList.from(move)];
+        int to = MoveList.to(move);
+        h[to] += depth * depth;
+        if (h[to] >= HISTORY_MAX) ageHistory();
+    }
+
+    private void ageHistory() {
+        for (int[][] byFrom : history)
+            for (int[] byTo : byFrom)
+                for (int to = 0; to < 64; to++) byTo[to] >>= 1;
+    }
+
+    public long getCutoffs() { return cutoffs; }
+    public long getFirstMoveCutoffs() { return firstMoveCutoffs; }
+
+    // procentul de cutoff-uri date de prima mutare (ideal > 90%)
+    public double getFirstMoveCutoffRate() {
+        return (cutoffs == 0) ? 0 : firstMoveCutoffs * 100.0 / cutoffs;
+    }
+}
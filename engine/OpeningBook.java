@@ -0,0 +1,111 @@
+package engine;
+
+import game.Board;
+import game.MoveList;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ThreadLocalRandom;
+
+// carte de deschideri: fisier binar cu inregistrari de 16 bytes { long cheie Zobrist, int mutare, int pondere },
+// sortate dupa cheie (apoi mutare); fisierul e mapat in memorie si cautat binar, deci nu ocupa heap
+// si mapping-ul e impartit de toate jocurile (vezi shared()). se construieste cu OpeningBookBuilder
+public class OpeningBook implements Closeable {
+
+    public static final Path DEFAULT_PATH = Path.of("input", "book.bin");
+    static final int RECORD_BYTES = 16;
+
+    private static OpeningBook shared;
+    private static boolean sharedLoaded;
+    private static String sharedError;   // de ce nu s-a incarcat cartea comuna (afisat de aplicatie)
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int count;
+
+    private OpeningBook(FileChannel channel, MappedByteBuffer buffer) {
+        this.channel = channel;
+        this.buffer = buffer;
+        this.count = buffer.capacity() / RECORD_BYTES;
+    }
+
+    public static OpeningBook open(Path path) throws IOException {
+        FileChannel ch = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            if (ch.size() > Integer.MAX_VALUE) throw new IOException("Book too large: " + path);
+            return new OpeningBook(ch, ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size()));
+        } catch (IOException e) {
+            ch.close();
+            throw e;
+        }
+    }
+
+    // cartea din input/book.bin, deschisa o singura data; null daca fisierul lipseste sau e stricat
+    public static synchronized OpeningBook shared() {
+        if (!sharedLoaded) {
+            sharedLoaded = true;
+            if (Files.exists(DEFAULT_PATH)) {
+                try {
+                    shared = open(DEFAULT_PATH);
+                } catch (IOException e) {
+                    sharedError = "opening book not loaded: " + e.getMessage();
+                }
+            }
+        }
+        return shared;
+    }
+
+    // mesajul de eroare daca shared() n-a putut deschide input/book.bin (null daca e ok sau lipseste)
+    public static synchronized String getSharedError() { return sharedError; }
+
+    public int size() { return count; }
+
+    public long keyAt(int i) { return buffer.getLong(i * RECORD_BYTES); }
+    public int moveAt(int i) { return buffer.getInt(i * RECORD_BYTES + 8); }
+    public int weightAt(int i) { return buffer.getInt(i * RECORD_BYTES + 12); }
+
+    // prima inregistrare cu cheia >= key
+    public int lowerBound(long key) {
+        int lo = 0, hi = count;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (Long.compareUnsigned(keyAt(mid), key) < 0) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    // mutare din carte pentru pozitia curenta, aleasa aleator dupa pondere; -1 daca pozitia nu e in carte
+    // (doar mutarile inca legale pe tabla data, ca o carte veche/stricata sa nu produca mutari ilegale)
+    public int probe(Board board) {
+        long key = board.getHashKey();
+        int first = lowerBound(key);
+        if (first >= count || keyAt(first) != key) return -1;
+
+        MoveList legal = board.generateLegalMoves(board.getSideToMove());
+        long total = 0;
+        int end = first;
+        for (; end < count && keyAt(end) == key; end++) {
+            if (legal.contains(moveAt(end))) total += Math.max(0, weightAt(end));
+        }
+        if (total == 0) return -1;
+
+        long pick = ThreadLocalRandom.current().nextLong(total);
+        for (int i = first; i < end; i++) {
+            if (!legal.contains(moveAt(i))) continue;
+            pick -= Math.max(0, weightAt(i));
+            if (pick < 0) return moveAt(i);
+        }
+        return -1;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,107 @@
+package engine;
+
+import game.Board;
+import game.Game;
+import game.Move;
+import game.MoveList;
+import game.UndoInfo;
+import io.JsonReaderUtil;
+import model.Colors;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+// construieste cartea de deschideri din istoricul mutarilor din games.json:
+// fiecare joc e rejucat de la pozitia initiala, primele maxPlies mutari devin inregistrari
+// (cheie, mutare) iar ponderea = de cate ori a fost jucata mutarea in acea pozitie
+// usage: java engine.OpeningBookBuilder [games.json] [book.bin] [maxPlies]
+public class OpeningBookBuilder {
+
+    public static final int DEFAULT_PLIES = 16;
+
+    private final int maxPlies;
+    // cheie -> (mutare -> pondere); TreeMap ca fisierul sa iasa sortat direct
+    private final Map<Long, Map<Integer, Integer>> entries = new TreeMap<>(Long::compareUnsigned);
+    private int gamesUsed;
+
+    public OpeningBookBuilder(int maxPlies) {
+        this.maxPlies = Math.max(1, maxPlies);
+    }
+
+    public int getGamesUsed() { return gamesUsed; }
+
+    public void addGame(Game game) {
+        List<Move> moves = (game == null) ? null : game.getMoves();
+        if (moves == null || moves.isEmpty()) return;
+
+        Board board = new Board();
+        board.initialize();
+        board.setSideToMove(Colors.WHITE);
+
+        MoveList legal = new MoveList();
+        UndoInfo undo = new UndoInfo();
+        int plies = Math.min(maxPlies, moves.size());
+        for (int i = 0; i < plies; i++) {
+            Move mv = moves.get(i);
+            if (mv == null || mv.getPlayerColor() != board.getSideToMove()) break;
+
+            int packed = findLegal(board, legal, Board.square(mv.getFrom()), Board.square(mv.getTo()));
+            // mutare ilegala in istoric (joc pornit din alta pozitie etc.): restul nu mai e de incredere
+            if (packed == 0) break;
+
+            entries.computeIfAbsent(board.getHashKey(), k -> new TreeMap<>()).merge(packed, 1, Integer::sum);
+            board.makeMove(packed, undo);
+        }
+        gamesUsed++;
+    }
+
+    // mutarea legala from -> to (promovare implicita la dama, ca in Game); 0 daca nu exista
+    private static int findLegal(Board board, MoveList legal, int from, int to) {
+        if (from < 0 || to < 0) return 0;
+        board.generateLegalMoves(board.getSideToMove(), legal);
+        for (int i = 0; i < legal.size(); i++) {
+            int m = legal.get(i);
+            char promo = MoveList.promotion(m);
+            if (MoveList.from(m) == from && MoveList.to(m) == to && (promo == ' ' || promo == 'Q')) return m;
+        }
+        return 0;
+    }
+
+    // numarul de inregistrari scrise
+    public int write(Path out) throws IOException {
+        Path parent = out.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+
+        int records = 0;
+        try (OutputStream os = Files.newOutputStream(out);
+             DataOutputStream data = new DataOutputStream(new BufferedOutputStream(os))) {
+            for (Map.Entry<Long, Map<Integer, Integer>> e : entries.entrySet()) {
+                for (Map.Entry<Integer, Integer> m : e.getValue().entrySet()) {
+                    data.writeLong(e.getKey());
+                    data.writeInt(m.getKey());
+                    data.writeInt(m.getValue());
+                    records++;
+                }
+            }
+        }
+        return records;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path games = (args.length > 0) ? Path.of(args[0]) : Path.of("input", "games.json");
+        Path out = (args.length > 1) ? Path.of(args[1]) : OpeningBook.DEFAULT_PATH;
+        int plies = (args.length > 2) ? Integer.parseInt(args[2]) : DEFAULT_PLIES;
+
+        OpeningBookBuilder builder = new OpeningBookBuilder(plies);
+        for (Game g : JsonReaderUtil.readGamesAsMap(games).values()) builder.addGame(g);
+
+        int records = builder.write(out);
+        System.out.println("Games: " + builder.getGamesUsed() + ", positions: " + builder.entries.size()
+                + ", records: " + records + " -> " + out);
+    }
+}
@@ -0,0 +1,99 @@
+package engine;
+
+import game.Board;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Lazy SMP: N instante Engine care cauta aceeasi pozitie si isi impart o singura tabela de transpozitie;
+// firele ajutatoare lucreaza pe copii independente ale tablei si pornesc decalat (adancime 1 / 2),
+// iar rezultatul e cel al firului principal (care ruleaza pe firul apelantului)
+public class ParallelSearch {
+
+    private final TranspositionTable tt;
+    private final Engine[] engines;
+    private final ExecutorService pool;  // null la un singur fir
+
+    public ParallelSearch(int threads, TranspositionTable tt) {
+        int n = Math.max(1, threads);
+        this.tt = tt;
+        this.engines = new Engine[n];
+        for (int i = 0; i < n; i++) engines[i] = new Engine(tt);
+
+        if (n > 1) {
+            pool = Executors.newFixedThreadPool(n - 1, r -> {
+                Thread t = new Thread(r, "search-helper");
+                t.setDaemon(true);
+                return t;
+            });
+        } else {
+            pool = null;
+        }
+    }
+
+    public int getThreads() { return engines.length; }
+    public TranspositionTable getTranspositionTable() { return tt; }
+
+    // instanta care ruleaza pe firul apelantului (statistici de ordonare etc.)
+    public Engine getMainEngine() { return engines[0]; }
+
+    // scorul repetitiei pentru partea de la radacina, pe toate firele (vezi Engine.setDrawScore)
+    public void setDrawScore(int drawScore) {
+        for (Engine e : engines) e.setDrawScore(drawScore);
+    }
+
+    public SearchResult search(Board board, SearchLimits limits) {
+        return search(board, limits, null);
+    }
+
+    // history: cheile pozitiilor deja jucate, comune tuturor firelor (nu se modifica in cautare)
+    public SearchResult search(Board board, SearchLimits limits, long[] history) {
+        tt.newSearch();
+        if (pool == null) return engines[0].search(board, limits, history, 1);
+
+        AtomicBoolean abort = new AtomicBoolean(false);
+        for (Engine e : engines) e.setAbort(abort);
+
+        List<Future<SearchResult>> helpers = new ArrayList<>();
+        for (int i = 1; i < engines.length; i++) {
+            Engine e = engines[i];
+            Board copy = board.copy();
+            int startDepth = 1 + (i % 2);
+            helpers.add(pool.submit(() -> e.search(copy, limits, history, startDepth)));
+        }
+
+        SearchResult main;
+        try {
+            main = engines[0].search(board, limits, history, 1);
+        } finally {
+            // firul principal a terminat (sau a aruncat): oprim si asteptam ajutoarele
+            abort.set(true);
+        }
+
+        long nodes = main.getNodes();
+        for (Future<SearchResult> f : helpers) {
+            try {
+                nodes += f.get().getNodes();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException ignored) {
+                // un ajutor cazut nu strica rezultatul firului principal
+            }
+        }
+        return new SearchResult(main.getBestMove(), main.getScore(), main.getDepth(), nodes, main.getTimeMillis());
+    }
+
+    public void stop() {
+        for (Engine e : engines) e.stop();
+    }
+
+    // opreste firele ajutatoare (sunt daemon, dar e mai curat asa)
+    public void close() {
+        if (pool != null) pool.shutdownNow();
+    }
+}
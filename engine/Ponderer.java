@@ -0,0 +1,154 @@
+package engine;
+
+import game.Board;
+import game.MoveList;
+import game.UndoInfo;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// "ponder": cat timp omul se gandeste, un fir de fundal cauta raspunsul computerului la mutarile
+// probabile ale omului (ordonate dupa o singura cautare scurta, vezi ponder) si le tine in cache dupa cheia Zobrist;
+// daca omul joaca una din ele, computerul raspunde imediat din cache
+// are Engine-ul lui (un Engine nu e thread-safe), dar poate imparti tabela de transpozitie cu motorul principal
+public class Ponderer {
+
+    private static final int RANK_DEPTH = 3;   // cautarea care ordoneaza mutarile omului
+
+    private final Engine engine;
+    private final TranspositionTable tt;
+    private int drawScore;   // pentru computer (partea care raspunde)
+
+    private final Map<Long, SearchResult> cache = new ConcurrentHashMap<>();
+
+    private Thread thread;
+    private AtomicBoolean abort = new AtomicBoolean(false);
+    private long rootKey;
+
+    public Ponderer(TranspositionTable tt) {
+        this.engine = new Engine(tt);
+        this.tt = tt;
+    }
+
+    public void setDrawScore(int drawScore) { this.drawScore = drawScore; }
+
+    public boolean isRunning() { return thread != null && thread.isAlive(); }
+
+    public void start(Board board, SearchLimits limits) {
+        start(board, limits, null);
+    }
+
+    // porneste pe o copie a tablei (omul la mutare); la aceeasi pozitie, cache-ul de dinainte se pastreaza
+    // history = cheile partidei pana la pozitia curenta inclusiv, pentru repetitiile din cautare
+    public synchronized void start(Board board, SearchLimits limits, long[] history) {
+        if (board == null) return;
+        if (isRunning() && board.getHashKey() == rootKey) return;
+        cancel();
+
+        if (board.getHashKey() != rootKey) cache.clear();
+        rootKey = board.getHashKey();
+
+        Board copy = board.copy();
+        abort = new AtomicBoolean(false);
+        engine.setAbort(abort);
+        AtomicBoolean myAbort = abort;
+
+        thread = new Thread(() -> ponder(copy, limits, history, myAbort), "ponder");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    // opreste cautarea si asteapta firul; rezultatele complete raman in cache
+    public synchronized void cancel() {
+        if (thread == null) return;
+        abort.set(true);
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        thread = null;
+    }
+
+    // raspunsul gata calculat pentru pozitia data (dupa mutarea omului), sau null
+    public SearchResult take(long key) {
+        return cache.remove(key);
+    }
+
+    public void clear() {
+        cancel();
+        cache.clear();
+        rootKey = 0L;
+    }
+
+    // varsta tabelei comune creste o singura data pe ponder (cautarile de mai jos nu o mai avanseaza),
+    // ca inlocuirea din cautarea principala sa nu considere vechi intrarile de acum
+    private void ponder(Board board, SearchLimits limits, long[] history, AtomicBoolean abort) {
+        MoveList replies = board.generateLegalMoves(board.getSideToMove());
+        int n = replies.size();
+        if (n == 0) return;
+        tt.newSearch();
+
+        // o singura cautare scurta din perspectiva omului umple tabela; mutarea ei cea mai buna e prima,
+        // restul se ordoneaza dupa tabela / evaluarea statica (vezi rankScore)
+        engine.setDrawScore(-drawScore);
+        SearchResult root = engine.search(board, SearchLimits.depth(RANK_DEPTH), history, 1);
+        if (abort.get()) return;
+
+        int[] moves = new int[n];
+        int[] scores = new int[n];
+        UndoInfo undo = new UndoInfo();
+        for (int i = 0; i < n; i++) {
+            moves[i] = replies.get(i);
+            board.makeMove(moves[i], undo);
+            scores[i] = rankScore(board);
+            board.unmakeMove(undo);
+            if (moves[i] == root.getBestMove()) scores[i] = Integer.MAX_VALUE;
+        }
+        sortByScore(moves, scores);
+
+        engine.setDrawScore(drawScore);
+        for (int i = 0; i < n && !abort.get(); i++) {
+            board.makeMove(moves[i], undo);
+            long key = board.getHashKey();
+            if (!cache.containsKey(key)) {
+                SearchResult r = engine.search(board, limits, history, 1);
+                // o cautare intrerupta nu ajunge in cache
+                if (!abort.get()) cache.put(key, r);
+            }
+            board.unmakeMove(undo);
+        }
+    }
+
+    // scorul unei mutari a omului (dupa ea, computer-ul la mutare), din perspectiva omului:
+    // exact din tabela daca exista; altfel evaluarea statica, limitata de marginea din tabela
+    // (in afara variantei principale alpha-beta da doar margini, deci nu ajung singure la ordonare)
+    private int rankScore(Board board) {
+        int score = -board.evaluate();
+        long entry = tt.probe(board.getHashKey());
+        if (entry == 0) return score;
+
+        int stored = -TranspositionTable.score(entry);
+        int bound = TranspositionTable.bound(entry);
+        if (bound == TranspositionTable.BOUND_EXACT) return stored;
+        // LOWER pentru computer = cel mult stored pentru om, UPPER = cel putin stored
+        if (bound == TranspositionTable.BOUND_LOWER) return Math.min(score, stored);
+        if (bound == TranspositionTable.BOUND_UPPER) return Math.max(score, stored);
+        return score;
+    }
+
+    private static void sortByScore(int[] moves, int[] scores) {
+        for (int i = 1; i < moves.length; i++) {
+            int m = moves[i], s = scores[i];
+            int j = i - 1;
+            while (j >= 0 && scores[j] < s) {
+                moves[j + 1] = moves[j];
+                scores[j + 1] = scores[j];
+                j--;
+            }
+            moves[j + 1] = m;
+            scores[j + 1] = s;
+        }
+    }
+}
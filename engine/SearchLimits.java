@@ -0,0 +1,33 @@
+package engine;
+
+// bugetul unei cautari: adancime maxima, timp si noduri (0 = fara limita)
+public class SearchLimits {
+    private int maxDepth = 64;
+    private long timeMillis = 500;
+    private long maxNodes = 0;
+
+    public SearchLimits() { }
+
+    public SearchLimits(int maxDepth, long timeMillis, long maxNodes) {
+        this.maxDepth = maxDepth;
+        this.timeMillis = timeMillis;
+        this.maxNodes = maxNodes;
+    }
+
+    public static SearchLimits time(long millis) { return new SearchLimits(64, millis, 0); }
+    public static SearchLimits nodes(long nodes) { return new SearchLimits(64, 0, nodes); }
+    public static SearchLimits depth(int depth) { return new SearchLimits(depth, 0, 0); }
+
+    public int getMaxDepth() { return maxDepth; }
+    public long getTimeMillis() { return timeMillis; }
+    public long getMaxNodes() { return maxNodes; }
+
+    public void setMaxDepth(int maxDepth) { this.maxDepth = maxDepth; }
+    public void setTimeMillis(long timeMillis) { this.timeMillis = timeMillis; }
+    public void setMaxNodes(long maxNodes) { this.maxNodes = maxNodes; }
+
+    @Override
+    public String toString() {
+        return "depth=" + maxDepth + " time=" + timeMillis + "ms nodes=" + maxNodes;
+    }
+}
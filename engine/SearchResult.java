@@ -0,0 +1,33 @@
+package engine;
+
+import game.MoveList;
+
+public class SearchResult {
+    private final int bestMove;   // mutare impachetata (vezi MoveList), -1 daca nu exista
+    private final int score;      // din perspectiva partii la mutare
+    private final int depth;
+    private final long nodes;
+    private final long timeMillis;
+
+    public SearchResult(int bestMove, int score, int depth, long nodes, long timeMillis) {
+        this.bestMove = bestMove;
+        this.score = score;
+        this.depth = depth;
+        this.nodes = nodes;
+        this.timeMillis = timeMillis;
+    }
+
+    public int getBestMove() { return bestMove; }
+    public int getScore() { return score; }
+    public int getDepth() { return depth; }
+    public long getNodes() { return nodes; }
+    public long getTimeMillis() { return timeMillis; }
+
+    public boolean hasMove() { return bestMove >= 0; }
+
+    @Override
+    public String toString() {
+        return (hasMove() ? MoveList.toString(bestMove) : "none")
+                + " score=" + score + " depth=" + depth + " nodes=" + nodes + " time=" + timeMillis + "ms";
+    }
+}
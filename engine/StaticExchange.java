@@ -0,0 +1,84 @@
+package engine;
+
+import game.Attacks;
+import game.Board;
+import game.MoveList;
+import model.Colors;
+import model.pieces.Piece;
+
+// static exchange evaluation: castigul de material al unei capturi daca ambele parti
+// recaptureaza pe acelasi patrat, mereu cu atacatorul cel mai ieftin (algoritmul "swap");
+// nu face mutari pe tabla: lucreaza pe bitboard-uri, cu x-ray prin piesele deja folosite.
+// piesele legate nu sunt tratate (aproximare obisnuita)
+public final class StaticExchange {
+
+    private StaticExchange() { }
+
+    // scara din Evaluation; regele e "scump" ca o captura cu el intr-un patrat aparat sa iasa proasta
+    private static final int[] VALUES = { 10, 30, 30, 50, 90, 1000 };
+
+    // lungimea maxima a unui schimb (cel mult 32 de piese pe tabla)
+    public static final int MAX_EXCHANGE = 32;
+
+    // varianta care aloca; in cautare se foloseste cea cu buffer
+    public static int see(Board board, int move) {
+        return see(board, move, new int[MAX_EXCHANGE]);
+    }
+
+    // gain = buffer refolosit de apelant (ex. unul per Engine), cel putin MAX_EXCHANGE elemente
+    public static int see(Board board, int move, int[] gain) {
+        int from = MoveList.from(move);
+        int to = MoveList.to(move);
+
+        Piece mover = board.getPieceAt(from);
+        if (mover == null) return 0;
+        Piece target = board.getPieceAt(to);
+
+        int d = 0;
+        gain[0] = (target != null) ? VALUES[Board.typeIndex(target)] : 0;
+
+        int attackerValue = VALUES[Board.typeIndex(mover)];
+        char promo = MoveList.promotion(move);
+        if (promo != ' ') {
+            int promoValue = VALUES[Board.PIECE_TYPES.indexOf(promo)];
+            gain[0] += promoValue - VALUES[0];
+            attackerValue = promoValue;
+        }
+
+        long diag = board.getBitboard(Colors.WHITE, 'B') | board.getBitboard(Colors.BLACK, 'B')
+                | board.getBitboard(Colors.WHITE, 'Q') | board.getBitboard(Colors.BLACK, 'Q');
+        long straight = board.getBitboard(Colors.WHITE, 'R') | board.getBitboard(Colors.BLACK, 'R')
+                | board.getBitboard(Colors.WHITE, 'Q') | board.getBitboard(Colors.BLACK, 'Q');
+
+        long occ = board.getOccupied();
+        long attackers = board.attackersTo(to, occ);
+        long fromBit = 1L << from;
+        Colors side = mover.getColor();
+
+        while (true) {
+            d++;
+            gain[d] = attackerValue - gain[d - 1];
+
+            // piesa care a capturat pleaca de pe patratul ei; pot aparea atacuri x-ray in spate
+            occ ^= fromBit;
+            attackers &= occ;
+            attackers |= (Attacks.bishop(to, occ) & diag & occ) | (Attacks.rook(to, occ) & straight & occ);
+
+            side = (side == Colors.WHITE) ? Colors.BLACK : Colors.WHITE;
+            fromBit = 0;
+            long mine = attackers & board.getOccupancy(side);
+            for (int t = 0; t < 6 && mine != 0; t++) {
+                long bb = mine & board.getBitboard(side, Board.PIECE_TYPES.charAt(t));
+                if (bb != 0) {
+                    fromBit = bb & -bb;
+                    attackerValue = VALUES[t];
+                    break;
+                }
+            }
+            if (fromBit == 0 || d == gain.length - 1) break;
+        }
+
+        while (--d > 0) gain[d - 1] = -Math.max(-gain[d - 1], gain[d]);
+        return gain[0];
+    }
+}
@@ -0,0 +1,170 @@
+package engine;
+
+import game.Board;
+import model.Colors;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// probe in tablebase-urile scrise de TablebaseGenerator (fisiere mapate in memorie, incarcate la prima folosire)
+// scorul intors e pe scara din Engine, din perspectiva partii la mutare:
+//   castig in d ply -> MATE - d, pierdere in d ply -> -(MATE - d), remiza -> 0, NONE daca pozitia nu e acoperita
+public class Tablebase {
+
+    public static final Path DEFAULT_DIR = Path.of("tablebases");
+    public static final String EXTENSION = ".tb";
+    public static final int NONE = Integer.MIN_VALUE;
+    public static final int MAX_PIECES = 4;
+
+    // ordinea canonica a pieselor tari in index (vezi TablebaseGenerator)
+    private static final String CANONICAL = "QRBNP";
+
+    // cheia de material: cate 2 biti (numarul de piese) pe tip, in ordinea CANONICAL
+    private static final int KEY_BITS = 2;
+    private static final int KEYS = 1 << (KEY_BITS * CANONICAL.length());
+
+    // K + un singur nebun / cal: fara material de mat
+    private static final int LONE_BISHOP = 1 << (KEY_BITS * CANONICAL.indexOf('B'));
+    private static final int LONE_KNIGHT = 1 << (KEY_BITS * CANONICAL.indexOf('N'));
+
+    private static Tablebase shared;
+
+    private final Path dir;
+    // dupa cheia de material, fara String-uri / map-uri pe drumul cautarii
+    private final AtomicReferenceArray<MappedByteBuffer> files = new AtomicReferenceArray<>(KEYS);
+    private final boolean[] missing = new boolean[KEYS];   // fisier lipsa / stricat: nu se mai incearca
+    // fisierele care nu s-au putut incarca (pot aparea din firele de cautare); aplicatia le afiseaza
+    private final Queue<String> loadErrors = new ConcurrentLinkedQueue<>();
+
+    public Tablebase(Path dir) {
+        this.dir = dir;
+    }
+
+    // tabelele din ./tablebases; null daca directorul nu exista
+    public static synchronized Tablebase shared() {
+        if (shared == null && Files.isDirectory(DEFAULT_DIR)) shared = new Tablebase(DEFAULT_DIR);
+        return shared;
+    }
+
+    public int probe(Board board) {
+        long occupied = board.getOccupied();
+        int count = Long.bitCount(occupied);
+        if (count > MAX_PIECES) return NONE;
+
+        // partea slaba = cea cu regele singur
+        long white = board.getOccupancy(Colors.WHITE), black = board.getOccupancy(Colors.BLACK);
+        if ((white | black) != occupied) return NONE;
+        long whiteKing = board.getBitboard(Colors.WHITE, 'K'), blackKing = board.getBitboard(Colors.BLACK, 'K');
+        if (Long.bitCount(whiteKing) != 1 || Long.bitCount(blackKing) != 1) return NONE;
+
+        Colors strong;
+        if (black == blackKing) strong = Colors.WHITE;
+        else if (white == whiteKing) strong = Colors.BLACK;
+        else return NONE;
+
+        // partea tare devine alba: la negru oglindim randurile
+        int flip = (strong == Colors.WHITE) ? 0 : 56;
+        Colors weak = (strong == Colors.WHITE) ? Colors.BLACK : Colors.WHITE;
+        int stm = (board.getSideToMove() == strong) ? 0 : 1;
+
+        int idx = ((Long.numberOfTrailingZeros(board.getBitboard(strong, 'K')) ^ flip) << 6)
+                | (Long.numberOfTrailingZeros(board.getBitboard(weak, 'K')) ^ flip);
+        int n = 2;
+        int material = 0;
+        for (int i = 0; i < CANONICAL.length(); i++) {
+            long bb = board.getBitboard(strong, CANONICAL.charAt(i));
+            material |= Long.bitCount(bb) << (KEY_BITS * i);
+            while (bb != 0) {
+                int sq = Long.numberOfTrailingZeros(bb);
+                bb &= bb - 1;
+                idx = (idx << 6) | (sq ^ flip);
+                n++;
+            }
+        }
+
+        // fara material de mat: remiza (doar regii, sau un singur nebun / cal)
+        if (n == 2 || material == LONE_BISHOP || material == LONE_KNIGHT) return 0;
+
+        MappedByteBuffer buf = file(material);
+        if (buf == null || buf.getInt(4) != n) return NONE;
+        idx |= stm << (6 * n);
+
+        int bits = buf.getInt(8);
+        long bitPos = (long) idx * bits;
+        long word = buf.getLong(TablebaseGenerator.HEADER_BYTES + (int) (bitPos >>> 3));
+        int entry = (int) ((word >>> (bitPos & 7)) & ((1L << bits) - 1));
+
+        // distanta limitata la MAX_PLY: cu ply-ul din cautare ramane in banda de mat a motorului
+        int code = entry & 3, dtm = Math.min(entry >>> 2, Engine.MAX_PLY);
+        if (code == TablebaseGenerator.CODE_WIN) return Engine.MATE - dtm;
+        if (code == TablebaseGenerator.CODE_LOSS) return -(Engine.MATE - dtm);
+        if (code == TablebaseGenerator.CODE_DRAW) return 0;
+        return NONE;
+    }
+
+    // erorile de incarcare de la ultimul apel (fiecare fisier apare o singura data)
+    public List<String> drainLoadErrors() {
+        List<String> out = new ArrayList<>();
+        for (String e; (e = loadErrors.poll()) != null; ) out.add(e);
+        return out;
+    }
+
+    // ex. "WHITE mates in 5" / "draw", pentru un scor intors de probe
+    public static String describe(int score, Colors sideToMove) {
+        if (score == NONE) return "unknown";
+        if (score == 0) return "draw";
+        Colors other = (sideToMove == Colors.WHITE) ? Colors.BLACK : Colors.WHITE;
+        int plies = Engine.MATE - Math.abs(score);
+        if (score > 0) return sideToMove + " mates in " + (plies + 1) / 2;
+        return other + " mates in " + plies / 2;
+    }
+
+    // ex. "KRK" pentru cheia unei ture
+    private static String name(int material) {
+        StringBuilder name = new StringBuilder("K");
+        for (int i = 0; i < CANONICAL.length(); i++) {
+            int count = (material >>> (KEY_BITS * i)) & ((1 << KEY_BITS) - 1);
+            for (int k = 0; k < count; k++) name.append(CANONICAL.charAt(i));
+        }
+        return name.append('K').toString();
+    }
+
+    private MappedByteBuffer file(int material) {
+        MappedByteBuffer buf = files.get(material);
+        if (buf != null || missing[material]) return buf;
+        return load(material);
+    }
+
+    // incarcarea (rara) e serializata; cautarile citesc doar array-ul
+    private synchronized MappedByteBuffer load(int material) {
+        MappedByteBuffer buf = files.get(material);
+        if (buf != null || missing[material]) return buf;
+
+        Path p = dir.resolve(name(material) + EXTENSION);
+        if (!Files.exists(p)) {
+            missing[material] = true;
+            return null;
+        }
+        try (FileChannel ch = FileChannel.open(p, StandardOpenOption.READ)) {
+            buf = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+            buf.order(ByteOrder.LITTLE_ENDIAN);
+            if (buf.getInt(0) != TablebaseGenerator.MAGIC) throw new IOException("bad header");
+            files.set(material, buf);
+            return buf;
+        } catch (IOException e) {
+            loadErrors.add("tablebase " + p + " not loaded: " + e.getMessage());
+            missing[material] = true;
+            return null;
+        }
+    }
+}
@@ -0,0 +1,510 @@
+package engine;
+
+import game.Attacks;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+// generator offline de tablebase-uri pentru finaluri mici cu regele slab singur (KQK, KRK, KPK, KBNK, KQRK ...)
+// prin analiza retrograda: pozitiile de mat sunt punctul de plecare, apoi la fiecare ply se merge inapoi
+// (unmove) din pozitiile rezolvate la ply-ul anterior; fiecare pozitie tine un contor de mutari nerezolvate,
+// deci o pozitie e pierduta abia cand toate mutarile ei duc in castig pentru adversar.
+// capturile si promovarile ies din tabela: rezultatul lor vine din sub-tabele (generate la nevoie)
+//
+// partea tare e mereu alba (Tablebase oglindeste tabla la probe); index = stm * 64^n + patratele,
+// in ordinea: rege tare, rege slab, piesele tari (ordine canonica Q, R, B, N, P).
+// tabla nu are rocada / en passant, deci nu intra in index
+//
+// fisierul: header de 16 bytes { magic, n, bitsPerEntry, maxDtm } (little-endian) + intrari impachetate pe biti:
+//   rezultat (2 biti: 0 remiza, 1 castig, 2 pierdere, 3 pozitie imposibila) | dtm in ply << 2
+// usage: java engine.TablebaseGenerator [dir] [KQK KRK ...]
+public class TablebaseGenerator {
+
+    static final int MAGIC = 0x3142544B;   // "KTB1"
+    static final int HEADER_BYTES = 16;
+
+    static final int CODE_DRAW = 0, CODE_WIN = 1, CODE_LOSS = 2, CODE_INVALID = 3;
+
+    // starile din memorie la generare
+    private static final byte UNKNOWN = 0, WIN = 1, LOSS = 2, DRAW = 3, INVALID = 4;
+    private static final byte DRAW_ESCAPE = 1, CONVERSION_WIN = 2;
+
+    private static final String TYPES = "PNBRQK";
+    private static final int PAWN = 0, KNIGHT = 1, BISHOP = 2, ROOK = 3, QUEEN = 4;
+
+    // o tabela generata (in memorie); rezultatele sunt din perspectiva partii la mutare
+    static final class Table {
+        final String name;
+        final int[] types;   // piesele tari, fara regi, ordine canonica
+        final int n;         // numar total de piese
+        byte[] result;
+        byte[] dtm;
+        int maxDtm;
+
+        Table(String name, int[] types) {
+            this.name = name;
+            this.types = types;
+            this.n = types.length + 2;
+        }
+
+        int size() { return 2 << (6 * n); }
+    }
+
+    private final Map<String, Table> tables = new LinkedHashMap<>();
+
+    // ---------------- spec / nume ----------------
+
+    // "KBNK" -> tipurile pieselor tari in ordine canonica; doar regele slab singur e suportat
+    static int[] parse(String spec) {
+        String s = spec.trim().toUpperCase(Locale.ROOT);
+        if (s.length() < 2 || s.charAt(0) != 'K' || s.charAt(s.length() - 1) != 'K' || s.indexOf('K', 1) != s.length() - 1) {
+            throw new IllegalArgumentException("Unsupported endgame (weak side must be a bare king): " + spec);
+        }
+        int[] types = new int[s.length() - 2];
+        // 5 piese = 2 * 64^5 intrari, nu mai incape intr-un array
+        if (types.length > 2) throw new IllegalArgumentException("At most 4 pieces supported: " + spec);
+        for (int i = 0; i < types.length; i++) {
+            int t = TYPES.indexOf(s.charAt(i + 1));
+            if (t < 0 || t > QUEEN) throw new IllegalArgumentException("Bad piece in " + spec);
+            types[i] = t;
+        }
+        return canonical(types);
+    }
+
+    static int[] canonical(int[] types) {
+        int[] t = types.clone();
+        Arrays.sort(t);
+        for (int i = 0, j = t.length - 1; i < j; i++, j--) { int x = t[i]; t[i] = t[j]; t[j] = x; }
+        return t;
+    }
+
+    static String name(int[] canonicalTypes) {
+        StringBuilder sb = new StringBuilder("K");
+        for (int t : canonicalTypes) sb.append(TYPES.charAt(t));
+        return sb.append('K').toString();
+    }
+
+    // fara material de mat (doar rege, sau rege + un nebun / cal) = remiza, fara tabela
+    static boolean isTrivialDraw(int[] types) {
+        return types.length == 0 || (types.length == 1 && (types[0] == KNIGHT || types[0] == BISHOP));
+    }
+
+    // ---------------- generare ----------------
+
+    public Table table(String spec) {
+        int[] types = parse(spec);
+        return table(types);
+    }
+
+    private Table table(int[] canonicalTypes) {
+        String name = name(canonicalTypes);
+        Table t = tables.get(name);
+        if (t == null) {
+            t = new Table(name, canonicalTypes);
+            generate(t);
+            tables.put(name, t);
+        }
+        return t;
+    }
+
+    private void generate(Table t) {
+        // sub-tabelele (capturi, promovari) trebuie sa existe inainte
+        for (int i = 0; i < t.types.length; i++) {
+            int[] without = remove(t.types, i);
+            if (!isTrivialDraw(without)) table(canonical(without));
+            if (t.types[i] == PAWN) {
+                for (int promo = KNIGHT; promo <= QUEEN; promo++) {
+                    int[] promoted = t.types.clone();
+                    promoted[i] = promo;
+                    if (!isTrivialDraw(promoted)) table(canonical(promoted));
+                }
+            }
+        }
+
+        long start = System.nanoTime();
+        int n = t.n;
+        int shift = 6 * n;
+        int size = t.size();
+
+        byte[] result = new byte[size];
+        byte[] dtm = new byte[size];
+        byte[] counter = new byte[size];
+        byte[] convLoss = new byte[size];
+        byte[] flags = new byte[size];
+
+        IntList frontier = new IntList();
+        IntList[] pendingWin = new IntList[256];
+        IntList[] pendingLoss = new IntList[256];
+
+        int[] sq = new int[n];
+        int[] childSq = new int[n];
+
+        // 1. validare + contoare + rezultatele conversiilor
+        for (int idx = 0; idx < size; idx++) {
+            int stm = idx >>> shift;
+            long occ = decode(idx, n, sq);
+            if (!isValid(t, stm, sq, occ)) {
+                result[idx] = INVALID;
+                continue;
+            }
+
+            int count = 0, bestWin = 0, worstLoss = 0;
+            boolean drawEscape = false;
+            int sk = sq[0], wk = sq[1];
+
+            if (stm == 0) {
+                long kt = Attacks.KING[sk] & ~occ & ~Attacks.KING[wk];
+                count += Long.bitCount(kt);
+
+                for (int i = 2; i < n; i++) {
+                    int from = sq[i];
+                    int type = t.types[i - 2];
+                    if (type == PAWN) {
+                        int to = from + 8;
+                        if (((occ >>> to) & 1L) != 0) continue;
+                        if (to >= 56) {
+                            // promovare: rezultatul vine din sub-tabela, cu negrul la mutare
+                            for (int promo = KNIGHT; promo <= QUEEN; promo++) {
+                                System.arraycopy(sq, 0, childSq, 0, n);
+                                childSq[i] = to;
+                                int[] ct = t.types.clone();
+                                ct[i - 2] = promo;
+                                int r = isTrivialDraw(ct) ? CODE_DRAW : subResult(ct, childSq, 1);
+                                int d = r >>> 2, code = r & 3;
+                                if (code == CODE_LOSS) bestWin = (bestWin == 0) ? d + 1 : Math.min(bestWin, d + 1);
+                                else if (code == CODE_WIN) worstLoss = Math.max(worstLoss, d + 1);
+                                else drawEscape = true;
+                            }
+                        } else {
+                            count++;
+                            if (from < 16 && ((occ >>> (to + 8)) & 1L) == 0) count++;
+                        }
+                    } else {
+                        count += Long.bitCount(attacks(type, from, occ) & ~occ);
+                    }
+                }
+            } else {
+                long without = occ & ~(1L << wk);
+                long kt = Attacks.KING[wk] & ~Attacks.KING[sk];
+                while (kt != 0) {
+                    int to = Long.numberOfTrailingZeros(kt);
+                    kt &= kt - 1;
+                    int captured = pieceAt(sq, n, to);
+                    if (captured < 0) {
+                        if (!attackedByStrong(t, sq, to, without, -1)) count++;
+                    } else if (!attackedByStrong(t, sq, to, without, captured)) {
+                        // regele slab ia o piesa: sub-tabela fara ea, cu albul la mutare
+                        int[] ct = remove(t.types, captured - 2);
+                        int r;
+                        if (isTrivialDraw(ct)) {
+                            r = CODE_DRAW;
+                        } else {
+                            int m = 0;
+                            for (int j = 0; j < n; j++) if (j != captured) childSq[m++] = sq[j];
+                            childSq[1] = to;
+                            r = subResult(ct, childSq, 0);
+                        }
+                        int d = r >>> 2, code = r & 3;
+                        if (code == CODE_LOSS) bestWin = (bestWin == 0) ? d + 1 : Math.min(bestWin, d + 1);
+                        else if (code == CODE_WIN) worstLoss = Math.max(worstLoss, d + 1);
+                        else drawEscape = true;
+                    }
+                }
+            }
+
+            boolean anyMove = count > 0 || bestWin > 0 || worstLoss > 0 || drawEscape;
+            if (!anyMove) {
+                boolean inCheck = stm == 1 && attackedByStrong(t, sq, wk, occ, -1);
+                if (inCheck) {
+                    result[idx] = LOSS;
+                    frontier.add(idx);
+                } else {
+                    result[idx] = DRAW;
+                }
+                continue;
+            }
+
+            counter[idx] = (byte) count;
+            convLoss[idx] = (byte) worstLoss;
+            if (drawEscape) flags[idx] |= DRAW_ESCAPE;
+            if (bestWin > 0) {
+                flags[idx] |= CONVERSION_WIN;
+                bucket(pendingWin, bestWin).add(idx);
+            } else if (count == 0) {
+                if (drawEscape) result[idx] = DRAW;
+                else bucket(pendingLoss, worstLoss).add(idx);
+            }
+        }
+
+        // 2. retrograd, ply cu ply
+        int maxDtm = 0;
+        for (int ply = 1; ply < 256; ply++) {
+            IntList next = new IntList();
+            for (int f = 0; f < frontier.size; f++) {
+                int p = frontier.data[f];
+                boolean lost = result[p] == LOSS;
+                int stm = p >>> shift;
+                long occ = decode(p, n, sq);
+
+                // predecesorii: a mutat partea care nu e la mutare in p
+                int mover = 1 - stm;
+                int predBase = mover << shift;
+                int np = forEachPredecessor(t, mover, sq, occ, childSq, predIdx);
+                for (int k = 0; k < np; k++) {
+                    int q = predBase | predIdx[k];
+                    if (result[q] != UNKNOWN) continue;
+                    if (lost) {
+                        result[q] = WIN;
+                        dtm[q] = (byte) ply;
+                        next.add(q);
+                    } else if (--counter[q] == 0 && (flags[q] & (DRAW_ESCAPE | CONVERSION_WIN)) == 0) {
+                        int lossPly = Math.max(ply, convLoss[q] & 0xFF);
+                        if (lossPly == ply) {
+                            result[q] = LOSS;
+                            dtm[q] = (byte) ply;
+                            next.add(q);
+                        } else {
+                            bucket(pendingLoss, lossPly).add(q);
+                        }
+                    }
+                }
+            }
+            resolvePending(pendingWin[ply], WIN, ply, result, dtm, next);
+            resolvePending(pendingLoss[ply], LOSS, ply, result, dtm, next);
+
+            if (next.size > 0) maxDtm = ply;
+            frontier = next;
+            if (next.size == 0 && !hasPendingAfter(pendingWin, pendingLoss, ply)) break;
+        }
+
+        // 3. ce a ramas nerezolvat e remiza
+        int wins = 0, losses = 0, draws = 0;
+        for (int idx = 0; idx < size; idx++) {
+            if (result[idx] == UNKNOWN) result[idx] = DRAW;
+            if (result[idx] == WIN) wins++;
+            else if (result[idx] == LOSS) losses++;
+            else if (result[idx] == DRAW) draws++;
+        }
+
+        t.result = result;
+        t.dtm = dtm;
+        t.maxDtm = maxDtm;
+        System.out.printf(Locale.ROOT, "%-6s positions=%d win=%d loss=%d draw=%d maxDtm=%d plies (%d ms)%n",
+                t.name, wins + losses + draws, wins, losses, draws, maxDtm, (System.nanoTime() - start) / 1_000_000L);
+    }
+
+    // buffer pentru forEachPredecessor (generatorul ruleaza pe un singur fir)
+    private final int[] predIdx = new int[512];
+
+    private static void resolvePending(IntList list, byte value, int ply, byte[] result, byte[] dtm, IntList next) {
+        if (list == null) return;
+        for (int k = 0; k < list.size; k++) {
+            int q = list.data[k];
+            if (result[q] != UNKNOWN) continue;
+            result[q] = value;
+            dtm[q] = (byte) ply;
+            next.add(q);
+        }
+    }
+
+    private static boolean hasPendingAfter(IntList[] a, IntList[] b, int ply) {
+        for (int i = ply + 1; i < a.length; i++) if (a[i] != null || b[i] != null) return true;
+        return false;
+    }
+
+    private static IntList bucket(IntList[] buckets, int ply) {
+        if (buckets[ply] == null) buckets[ply] = new IntList();
+        return buckets[ply];
+    }
+
+    // indexul (fara bitul stm) al fiecarei pozitii din care partea "mover" a ajuns aici fara captura/promovare
+    private int forEachPredecessor(Table t, int mover, int[] sq, long occ, int[] tmp, int[] out) {
+        int n = t.n;
+        int count = 0;
+        int sk = sq[0], wk = sq[1];
+
+        if (mover == 1) {
+            long from = Attacks.KING[wk] & ~occ & ~Attacks.KING[sk];
+            while (from != 0) {
+                int u = Long.numberOfTrailingZeros(from);
+                from &= from - 1;
+                out[count++] = indexWith(sq, n, 1, u);
+            }
+            return count;
+        }
+
+        long kf = Attacks.KING[sk] & ~occ & ~Attacks.KING[wk];
+        while (kf != 0) {
+            int u = Long.numberOfTrailingZeros(kf);
+            kf &= kf - 1;
+            out[count++] = indexWith(sq, n, 0, u);
+        }
+        for (int i = 2; i < n; i++) {
+            int v = sq[i];
+            int type = t.types[i - 2];
+            if (type == PAWN) {
+                if (v < 16) continue;
+                int u = v - 8;
+                if (((occ >>> u) & 1L) != 0) continue;
+                out[count++] = indexWith(sq, n, i, u);
+                if (v >= 24 && v < 32 && ((occ >>> (u - 8)) & 1L) == 0) out[count++] = indexWith(sq, n, i, u - 8);
+            } else {
+                long from = attacks(type, v, occ) & ~occ;
+                while (from != 0) {
+                    int u = Long.numberOfTrailingZeros(from);
+                    from &= from - 1;
+                    out[count++] = indexWith(sq, n, i, u);
+                }
+            }
+        }
+        return count;
+    }
+
+    private static int indexWith(int[] sq, int n, int slot, int square) {
+        int idx = 0;
+        for (int i = 0; i < n; i++) idx = (idx << 6) | ((i == slot) ? square : sq[i]);
+        return idx;
+    }
+
+    // rezultatul (code | dtm << 2) din sub-tabela, cu piesele puse in ordinea canonica
+    private int subResult(int[] types, int[] sqWithKings, int stm) {
+        int k = types.length;
+        Integer[] order = new Integer[k];
+        for (int i = 0; i < k; i++) order[i] = i;
+        Arrays.sort(order, (a, b) -> types[b] - types[a]);
+
+        int[] ct = new int[k];
+        int idx = (sqWithKings[0] << 6) | sqWithKings[1];
+        for (int i = 0; i < k; i++) {
+            ct[i] = types[order[i]];
+            idx = (idx << 6) | sqWithKings[order[i] + 2];
+        }
+        Table sub = tables.get(name(ct));
+        idx |= stm << (6 * (k + 2));
+
+        byte r = sub.result[idx];
+        int d = sub.dtm[idx] & 0xFF;
+        if (r == WIN) return CODE_WIN | (d << 2);
+        if (r == LOSS) return CODE_LOSS | (d << 2);
+        return CODE_DRAW;
+    }
+
+    private static long decode(int idx, int n, int[] sq) {
+        long occ = 0L;
+        for (int i = n - 1; i >= 0; i--) {
+            sq[i] = idx & 63;
+            idx >>>= 6;
+            occ |= 1L << sq[i];
+        }
+        return occ;
+    }
+
+    private static boolean isValid(Table t, int stm, int[] sq, long occ) {
+        if (Long.bitCount(occ) != t.n) return false;
+        if ((Attacks.KING[sq[0]] & (1L << sq[1])) != 0) return false;
+        for (int i = 2; i < t.n; i++) {
+            if (t.types[i - 2] == PAWN && (sq[i] < 8 || sq[i] >= 56)) return false;
+        }
+        // albul la mutare cu negrul in sah = pozitie imposibila
+        return stm == 1 || !attackedByStrong(t, sq, sq[1], occ, -1);
+    }
+
+    private static int pieceAt(int[] sq, int n, int square) {
+        for (int i = 2; i < n; i++) if (sq[i] == square) return i;
+        return -1;
+    }
+
+    // e "target" atacat de partea tare? (skip = piesa capturata, nu mai ataca)
+    private static boolean attackedByStrong(Table t, int[] sq, int target, long occ, int skip) {
+        if ((Attacks.KING[sq[0]] & (1L << target)) != 0) return true;
+        for (int i = 2; i < t.n; i++) {
+            if (i == skip) continue;
+            int type = t.types[i - 2];
+            long att = (type == PAWN) ? Attacks.PAWN[0][sq[i]] : attacks(type, sq[i], occ);
+            if ((att & (1L << target)) != 0) return true;
+        }
+        return false;
+    }
+
+    private static long attacks(int type, int sq, long occ) {
+        switch (type) {
+            case KNIGHT: return Attacks.KNIGHT[sq];
+            case BISHOP: return Attacks.bishop(sq, occ);
+            case ROOK: return Attacks.rook(sq, occ);
+            case QUEEN: return Attacks.queen(sq, occ);
+            default: return 0L;
+        }
+    }
+
+    private static int[] remove(int[] types, int i) {
+        int[] out = new int[types.length - 1];
+        for (int j = 0, m = 0; j < types.length; j++) if (j != i) out[m++] = types[j];
+        return out;
+    }
+
+    // ---------------- fisier ----------------
+
+    public void write(Table t, Path dir) throws IOException {
+        Files.createDirectories(dir);
+        int bits = 2 + Math.max(1, 32 - Integer.numberOfLeadingZeros(t.maxDtm));
+        int size = t.size();
+        byte[] data = new byte[(int) (((long) size * bits + 7) / 8) + 8];
+
+        long bitPos = 0;
+        for (int idx = 0; idx < size; idx++, bitPos += bits) {
+            int code;
+            switch (t.result[idx]) {
+                case WIN: code = CODE_WIN; break;
+                case LOSS: code = CODE_LOSS; break;
+                case INVALID: code = CODE_INVALID; break;
+                default: code = CODE_DRAW;
+            }
+            long entry = code | ((long) (t.dtm[idx] & 0xFF) << 2);
+            for (int b = 0; b < bits; b++) {
+                if (((entry >>> b) & 1L) != 0) {
+                    long p = bitPos + b;
+                    data[(int) (p >>> 3)] |= (byte) (1 << (p & 7));
+                }
+            }
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC).putInt(t.n).putInt(bits).putInt(t.maxDtm);
+        try (OutputStream os = Files.newOutputStream(dir.resolve(t.name + Tablebase.EXTENSION))) {
+            os.write(header.array());
+            os.write(data);
+        }
+    }
+
+    public Collection<Table> getTables() { return tables.values(); }
+
+    public static void main(String[] args) throws IOException {
+        Path dir = (args.length > 0) ? Path.of(args[0]) : Tablebase.DEFAULT_DIR;
+        List<String> specs = (args.length > 1)
+                ? Arrays.asList(args).subList(1, args.length)
+                : Arrays.asList("KQK", "KRK", "KPK", "KBNK");
+
+        TablebaseGenerator gen = new TablebaseGenerator();
+        for (String spec : specs) gen.table(spec);
+        for (Table t : gen.getTables()) {
+            gen.write(t, dir);
+            System.out.println("Wrote " + dir.resolve(t.name + Tablebase.EXTENSION));
+        }
+    }
+
+    // lista de int-uri crescatoare, fara boxing
+    private static final class IntList {
+        int[] data = new int[16];
+        int size;
+
+        void add(int v) {
+            if (size == data.length) data = Arrays.copyOf(data, size * 2);
+            data[size++] = v;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package engine;
+
+import java.util.Arrays;
+
+// tabela de transpozitie de marime fixa, pe un long[] prealocat (2 long-uri pe intrare)
+//
+// intrarea = { key ^ data, data }, cu data impachetat:
+//   move (bitii 0-15) | score (16-47, int cu semn) | depth (48-55) | bound (56-57) | age (58-63)
+//
+// fara lock-uri: mai multe fire pot citi/scrie simultan; o intrare scrisa pe jumatate
+// de alt fir (sau doua scrieri amestecate) nu mai trece verificarea key ^ data == key si e ignorata
+public class TranspositionTable {
+
+    public static final int BOUND_UPPER = 1;
+    public static final int BOUND_LOWER = 2;
+    public static final int BOUND_EXACT = 3;
+
+    private static final int ENTRY_BYTES = 16;
+
+    private final long[] table;
+    private final int mask;
+    private int age = 0;
+
+    public TranspositionTable(int megabytes) {
+        long bytes = Math.max(1, megabytes) * 1024L * 1024L;
+        long entries = Long.highestOneBit(Math.max(1024, bytes / ENTRY_BYTES));
+        entries = Math.min(entries, 1L << 29);
+        table = new long[(int) entries * 2];
+        mask = (int) entries - 1;
+    }
+
+    public int getMegabytes() { return (int) ((long) table.length * 8 / (1024 * 1024)); }
+
+    // la inceputul fiecarei cautari: intrarile vechi devin inlocuibile
+    public void newSearch() { age = (age + 1) & 63; }
+
+    public void clear() {
+        Arrays.fill(table, 0L);
+        age = 0;
+    }
+
+    private int index(long key) {
+        return ((int) (key ^ (key >>> 32)) & mask) << 1;
+    }
+
+    // 0 daca pozitia nu e in tabela
+    public long probe(long key) {
+        int i = index(key);
+        long k = table[i];
+        long data = table[i + 1];
+        return ((k ^ data) == key && bound(data) != 0) ? data : 0L;
+    }
+
+    // depth-preferred: nu suprascriem o intrare mai adanca din cautarea curenta
+    public void store(long key, int move, int score, int depth, int bound) {
+        int i = index(key);
+        long oldData = table[i + 1];
+        boolean sameKey = (table[i] ^ oldData) == key;
+
+        if (!sameKey && bound(oldData) != 0 && age(oldData) == age && depth(oldData) > depth) return;
+        if (sameKey && move == 0) move = move(oldData);
+
+        long data = (move & 0xFFFFL)
+                | ((score & 0xFFFFFFFFL) << 16)
+                | ((long) Math.max(0, Math.min(depth, 255)) << 48)
+                | ((long) (bound & 3) << 56)
+                | ((long) age << 58);
+        table[i] = key ^ data;
+        table[i + 1] = data;
+    }
+
+    // ---------- decoding ----------
+
+    public static int move(long data) { return (int) (data & 0xFFFF); }
+    public static int score(long data) { return (int) (data >>> 16); }
+    public static int depth(long data) { return (int) ((data >>> 48) & 0xFF); }
+    public static int bound(long data) { return (int) ((data >>> 56) & 3); }
+    private static int age(long data) { return (int) ((data >>> 58) & 63); }
+
+    // cate la mie din primele 1000 de intrari sunt din cautarea curenta
+    public int hashfull() {
+        int n = Math.min(1000, table.length / 2), used = 0;
+        for (int j = 0; j < n; j++) {
+            long data = table[2 * j + 1];
+            if (bound(data) != 0 && age(data) == age) used++;
+        }
+        return used * 1000 / n;
+    }
+}
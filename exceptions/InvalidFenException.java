@@ -0,0 +1,7 @@
+package exceptions;
+
+public class InvalidFenException extends Exception {
+    private static final long serialVersionUID = 1L;
+
+    public InvalidFenException(String message) { super(message); }
+}
@@ -0,0 +1,92 @@
+package game;
+
+// tabele de atac precalculate, pe indecsii de patrat din Board (A1 = 0 ... H8 = 63)
+public final class Attacks {
+
+    private Attacks() {}
+
+    public static final long[] KNIGHT = new long[64];
+    public static final long[] KING = new long[64];
+    // PAWN[culoare][sq] = patratele atacate de un pion de culoarea respectiva aflat pe sq
+    public static final long[][] PAWN = new long[2][64];
+
+    // directii: N, NE, E, NW (index crescator) apoi S, SW, W, SE (index descrescator)
+    private static final int[] DIR_FILE = { 0, 1, 1, -1, 0, -1, -1, 1 };
+    private static final int[] DIR_RANK = { 1, 1, 0, 1, -1, -1, 0, -1 };
+    private static final long[][] RAYS = new long[8][64];
+
+    // BETWEEN[a][b] = patratele strict intre a si b (0 daca nu sunt pe aceeasi linie/diagonala)
+    // LINE[a][b] = toata linia/diagonala prin a si b (0 daca nu sunt aliniate)
+    public static final long[][] BETWEEN = new long[64][64];
+    public static final long[][] LINE = new long[64][64];
+
+    static {
+        int[] kdx = { 1, 2, 2, 1, -1, -2, -2, -1 };
+        int[] kdy = { 2, 1, -1, -2, -2, -1, 1, 2 };
+
+        for (int sq = 0; sq < 64; sq++) {
+            int f = sq % 8, r = sq / 8;
+
+            for (int i = 0; i < 8; i++) KNIGHT[sq] |= bit(f + kdx[i], r + kdy[i]);
+
+            for (int dx = -1; dx <= 1; dx++)
+                for (int dy = -1; dy <= 1; dy++)
+                    if (dx != 0 || dy != 0) KING[sq] |= bit(f + dx, r + dy);
+
+            PAWN[0][sq] = bit(f - 1, r + 1) | bit(f + 1, r + 1);
+            PAWN[1][sq] = bit(f - 1, r - 1) | bit(f + 1, r - 1);
+
+            for (int d = 0; d < 8; d++) {
+                int x = f + DIR_FILE[d], y = r + DIR_RANK[d];
+                while (x >= 0 && x < 8 && y >= 0 && y < 8) {
+                    RAYS[d][sq] |= 1L << (y * 8 + x);
+                    x += DIR_FILE[d];
+                    y += DIR_RANK[d];
+                }
+            }
+        }
+
+        for (int a = 0; a < 64; a++) {
+            for (int d = 0; d < 8; d++) {
+                long line = RAYS[d][a] | RAYS[(d + 4) % 8][a] | (1L << a);
+                long between = 0L;
+                long ray = RAYS[d][a];
+                while (ray != 0) {
+                    int b = (d < 4) ? Long.numberOfTrailingZeros(ray) : 63 - Long.numberOfLeadingZeros(ray);
+                    ray &= ~(1L << b);
+                    BETWEEN[a][b] = between;
+                    LINE[a][b] = line;
+                    between |= 1L << b;
+                }
+            }
+        }
+    }
+
+    private static long bit(int file, int rank) {
+        if (file < 0 || file > 7 || rank < 0 || rank > 7) return 0L;
+        return 1L << (rank * 8 + file);
+    }
+
+    // raza pana la primul blocaj (inclusiv)
+    private static long ray(int dir, int sq, long occupied) {
+        long attacks = RAYS[dir][sq];
+        long blockers = attacks & occupied;
+        if (blockers != 0) {
+            int b = (dir < 4) ? Long.numberOfTrailingZeros(blockers) : 63 - Long.numberOfLeadingZeros(blockers);
+            attacks ^= RAYS[dir][b];
+        }
+        return attacks;
+    }
+
+    public static long rook(int sq, long occupied) {
+        return ray(0, sq, occupied) | ray(2, sq, occupied) | ray(4, sq, occupied) | ray(6, sq, occupied);
+    }
+
+    public static long bishop(int sq, long occupied) {
+        return ray(1, sq, occupied) | ray(3, sq, occupied) | ray(5, sq, occupied) | ray(7, sq, occupied);
+    }
+
+    public static long queen(int sq, long occupied) {
+        return rook(sq, occupied) | bishop(sq, occupied);
+    }
+}
@@ -1,5 +1,6 @@
 package game;
 
+import exceptions.InvalidFenException;
 import exceptions.InvalidMoveException;
 import model.ChessPair;
 import model.Colors;
@@ -10,19 +11,191 @@ import java.util.*;
 
 public class Board {
 
+    // setul e doar o vedere peste mailbox, refacuta lazy in getPieces()
+    // (makeMove/unmakeMove nu mai aloca perechi la fiecare mutare simulata)
     private final Set<ChessPair<Position, Piece>> pieces = new TreeSet<>();
+    private boolean piecesDirty = false;
+
+    // piese cu pozitie in afara tablei (ex. json stricat), pastrate doar in set
+    private final List<Piece> offBoard = new ArrayList<>();
+
+    // bitboard-uri: bitul i = patratul (y-1)*8 + (x-'A'), A1 = 0 ... H8 = 63
+    // [culoare][tip] cu culoare WHITE=0, BLACK=1 si tip in ordinea PIECE_TYPES
+    public static final String PIECE_TYPES = "PNBRQK";
+
+    private final long[][] bitboards = new long[2][6];
+    private final long[] occupancy = new long[2];
+    private long occupied;
+
+    // mailbox: piesa de pe fiecare patrat (null = gol), mereu sincron cu setul
+    private final Piece[] squares = new Piece[64];
+
+    // patratul regelui per culoare (-1 = fara rege), actualizat la fiecare plasare/stergere
+    private final int[] kingSquare = { -1, -1 };
+
+    // material + piesa-patrat per culoare (vezi Evaluation), actualizate odata cu bitboard-urile
+    private final int[] material = new int[2];
+    private final int[] pst = new int[2];
+
+    // Zobrist: cheie pe 64 de biti actualizata incremental la fiecare plasare/stergere
+    // si la schimbarea partii la mutare; seed fix ca cheile sa fie aceleasi intre rulari
+    private static final long[][][] ZOBRIST = new long[2][6][64];
+    private static final long ZOBRIST_BLACK_TO_MOVE;
+    static {
+        SplittableRandom rnd = new SplittableRandom(0x5EEDC0FFEEL);
+        for (long[][] byType : ZOBRIST)
+            for (long[] bySquare : byType)
+                for (int sq = 0; sq < 64; sq++) bySquare[sq] = rnd.nextLong();
+        ZOBRIST_BLACK_TO_MOVE = rnd.nextLong();
+    }
+
+    private long hashKey = 0L;
+    private Colors sideToMove = Colors.WHITE;
+
+    // folosit de wouldLeaveKingInCheck
+    private final UndoInfo scratchUndo = new UndoInfo();
 
     public Board() { }
 
-    public Set<ChessPair<Position, Piece>> getPieces() { return pieces; }
+    public Set<ChessPair<Position, Piece>> getPieces() {
+        if (piecesDirty) {
+            pieces.clear();
+            for (int sq = 0; sq < 64; sq++) {
+                if (squares[sq] != null) pieces.add(new ChessPair<>(squares[sq].getPosition(), squares[sq]));
+            }
+            for (Piece p : offBoard) pieces.add(new ChessPair<>(p.getPosition(), p));
+            piecesDirty = false;
+        }
+        return pieces;
+    }
+
+    public void clear() {
+        pieces.clear();
+        piecesDirty = false;
+        offBoard.clear();
+        for (long[] bb : bitboards) Arrays.fill(bb, 0L);
+        Arrays.fill(occupancy, 0L);
+        occupied = 0L;
+        Arrays.fill(squares, null);
+        Arrays.fill(kingSquare, -1);
+        hashKey = 0L;
+        Arrays.fill(material, 0);
+        Arrays.fill(pst, 0);
+        sideToMove = Colors.WHITE;
+    }
+
+    public long getHashKey() { return hashKey; }
+
+    public Colors getSideToMove() { return sideToMove; }
+
+    public int getMaterial(Colors color) {
+        int c = colorIndex(color);
+        return (c < 0) ? 0 : material[c];
+    }
+
+    public int getPieceSquareScore(Colors color) {
+        int c = colorIndex(color);
+        return (c < 0) ? 0 : pst[c];
+    }
+
+    // material + piesa-patrat din perspectiva partii la mutare, O(1)
+    public int evaluate() {
+        int score = material[0] + pst[0] - material[1] - pst[1];
+        return (sideToMove == Colors.WHITE) ? score : -score;
+    }
+
+    public void setSideToMove(Colors color) {
+        Colors c = (color == Colors.BLACK) ? Colors.BLACK : Colors.WHITE;
+        if (c != sideToMove) hashKey ^= ZOBRIST_BLACK_TO_MOVE;
+        sideToMove = c;
+    }
+
+    // index 0..63 pentru o pozitie, -1 daca e in afara tablei
+    public static int square(Position p) {
+        if (p == null) return -1;
+        int idx = p.getIndex();
+        return (idx >= 0) ? idx : Position.of(p.getX(), p.getY()).getIndex();
+    }
+
+    public static int colorIndex(Colors c) {
+        if (c == Colors.WHITE) return 0;
+        if (c == Colors.BLACK) return 1;
+        return -1;
+    }
+
+    public static int typeIndex(Piece p) {
+        return (p == null) ? -1 : PIECE_TYPES.indexOf(p.type());
+    }
+
+    public long getBitboard(Colors color, char type) {
+        int c = colorIndex(color);
+        int t = PIECE_TYPES.indexOf(Character.toUpperCase(type));
+        return (c < 0 || t < 0) ? 0L : bitboards[c][t];
+    }
+
+    public long getOccupancy(Colors color) {
+        int c = colorIndex(color);
+        return (c < 0) ? 0L : occupancy[c];
+    }
+
+    public long getOccupied() { return occupied; }
 
-    public void clear() { pieces.clear(); }
+    public Piece getPieceAt(int sq) {
+        return (sq >= 0 && sq < 64) ? squares[sq] : null;
+    }
+
+    public boolean isOccupied(Position p) {
+        int sq = square(p);
+        return sq >= 0 && ((occupied >>> sq) & 1L) != 0;
+    }
+
+    private void setBits(Piece piece, int sq) {
+        squares[sq] = piece;
+        long bit = 1L << sq;
+        occupied |= bit;
+        int c = colorIndex(piece.getColor());
+        int t = typeIndex(piece);
+        if (c < 0) return;
+        occupancy[c] |= bit;
+        if (t < 0) return;
+        bitboards[c][t] |= bit;
+        hashKey ^= ZOBRIST[c][t][sq];
+        material[c] += Evaluation.pieceValue(t);
+        pst[c] += Evaluation.pst(c, t, sq);
+        if (t == 5) updateKingSquare(c);
+    }
+
+    private void clearBits(Piece piece, int sq) {
+        squares[sq] = null;
+        long bit = ~(1L << sq);
+        occupied &= bit;
+        int c = colorIndex(piece.getColor());
+        int t = typeIndex(piece);
+        if (c < 0) return;
+        occupancy[c] &= bit;
+        if (t < 0) return;
+        bitboards[c][t] &= bit;
+        hashKey ^= ZOBRIST[c][t][sq];
+        material[c] -= Evaluation.pieceValue(t);
+        pst[c] -= Evaluation.pst(c, t, sq);
+        if (t == 5) updateKingSquare(c);
+    }
 
-    // ✅ normalizeaza mereu pe A..H
+    // la mai multi regi (json ciudat) il tinem pe primul, ca ordinea din set
+    private void updateKingSquare(int c) {
+        long kings = bitboards[c][5];
+        kingSquare[c] = (kings == 0) ? -1 : Long.numberOfTrailingZeros(kings);
+    }
+
+    public int getKingSquare(Colors color) {
+        int c = colorIndex(color);
+        return (c < 0) ? -1 : kingSquare[c];
+    }
+
+    // ✅ normalizeaza mereu pe A..H (instanta canonica, fara alocare pe tabla)
     private Position norm(Position p) {
         if (p == null) return null;
-        char x = Character.toUpperCase(p.getX());
-        return new Position(x, p.getY());
+        return Position.of(p.getX(), p.getY());
     }
 
     public boolean inBounds(Position p) {
@@ -37,63 +210,156 @@ public class Board {
         position = norm(position);
         if (position == null) return null;
 
-        for (ChessPair<Position, Piece> pair : pieces) {
-            if (pair == null || pair.getKey() == null) continue;
-            Position k = norm(pair.getKey());
-            if (position.equals(k)) return pair.getValue();
-        }
-        return null;
+        int sq = square(position);
+        return (sq < 0) ? null : squares[sq];
     }
 
     public void addPiece(Piece piece) {
         if (piece == null || piece.getPosition() == null) return;
         // ✅ fortam pozitia piesei pe A..H
         piece.setPosition(norm(piece.getPosition()));
-        pieces.add(new ChessPair<>(piece.getPosition(), piece));
+
+        int sq = square(piece.getPosition());
+        if (sq < 0) {
+            for (Piece p : offBoard) if (piece.getPosition().equals(p.getPosition())) return;
+            offBoard.add(piece);
+        } else {
+            // ca la TreeSet: a doua piesa pe acelasi patrat e ignorata
+            if (squares[sq] != null) return;
+            setBits(piece, sq);
+        }
+        piecesDirty = true;
     }
 
     public void removeAt(Position position) {
         position = norm(position);
         if (position == null) return;
 
-        ChessPair<Position, Piece> target = null;
-        for (ChessPair<Position, Piece> pair : pieces) {
-            if (pair == null || pair.getKey() == null) continue;
-            if (position.equals(norm(pair.getKey()))) { target = pair; break; }
+        int sq = square(position);
+        if (sq >= 0) {
+            Piece on = squares[sq];
+            if (on == null) return;
+            clearBits(on, sq);
+        } else {
+            Piece target = null;
+            for (Piece p : offBoard) if (position.equals(p.getPosition())) { target = p; break; }
+            if (target == null) return;
+            offBoard.remove(target);
         }
-        if (target != null) pieces.remove(target);
+        piecesDirty = true;
     }
 
     public void initialize() {
         clear();
 
-        addPiece(new Rook(Colors.WHITE, new Position('A', 1)));
-        addPiece(new Knight(Colors.WHITE, new Position('B', 1)));
-        addPiece(new Bishop(Colors.WHITE, new Position('C', 1)));
-        addPiece(new Queen(Colors.WHITE, new Position('D', 1)));
-        addPiece(new King(Colors.WHITE, new Position('E', 1)));
-        addPiece(new Bishop(Colors.WHITE, new Position('F', 1)));
-        addPiece(new Knight(Colors.WHITE, new Position('G', 1)));
-        addPiece(new Rook(Colors.WHITE, new Position('H', 1)));
-        for (char c = 'A'; c <= 'H'; c++) addPiece(new Pawn(Colors.WHITE, new Position(c, 2)));
-
-        addPiece(new Rook(Colors.BLACK, new Position('A', 8)));
-        addPiece(new Knight(Colors.BLACK, new Position('B', 8)));
-        addPiece(new Bishop(Colors.BLACK, new Position('C', 8)));
-        addPiece(new Queen(Colors.BLACK, new Position('D', 8)));
-        addPiece(new King(Colors.BLACK, new Position('E', 8)));
-        addPiece(new Bishop(Colors.BLACK, new Position('F', 8)));
-        addPiece(new Knight(Colors.BLACK, new Position('G', 8)));
-        addPiece(new Rook(Colors.BLACK, new Position('H', 8)));
-        for (char c = 'A'; c <= 'H'; c++) addPiece(new Pawn(Colors.BLACK, new Position(c, 7)));
+        addPiece(new Rook(Colors.WHITE, Position.of('A', 1)));
+        addPiece(new Knight(Colors.WHITE, Position.of('B', 1)));
+        addPiece(new Bishop(Colors.WHITE, Position.of('C', 1)));
+        addPiece(new Queen(Colors.WHITE, Position.of('D', 1)));
+        addPiece(new King(Colors.WHITE, Position.of('E', 1)));
+        addPiece(new Bishop(Colors.WHITE, Position.of('F', 1)));
+        addPiece(new Knight(Colors.WHITE, Position.of('G', 1)));
+        addPiece(new Rook(Colors.WHITE, Position.of('H', 1)));
+        for (char c = 'A'; c <= 'H'; c++) addPiece(new Pawn(Colors.WHITE, Position.of(c, 2)));
+
+        addPiece(new Rook(Colors.BLACK, Position.of('A', 8)));
+        addPiece(new Knight(Colors.BLACK, Position.of('B', 8)));
+        addPiece(new Bishop(Colors.BLACK, Position.of('C', 8)));
+        addPiece(new Queen(Colors.BLACK, Position.of('D', 8)));
+        addPiece(new King(Colors.BLACK, Position.of('E', 8)));
+        addPiece(new Bishop(Colors.BLACK, Position.of('F', 8)));
+        addPiece(new Knight(Colors.BLACK, Position.of('G', 8)));
+        addPiece(new Rook(Colors.BLACK, Position.of('H', 8)));
+        for (char c = 'A'; c <= 'H'; c++) addPiece(new Pawn(Colors.BLACK, Position.of(c, 7)));
+    }
+
+    // copie independenta (piese noi), ex. pentru cautare pe mai multe fire
+    public Board copy() {
+        Board b = new Board();
+        for (int sq = 0; sq < 64; sq++) {
+            Piece p = squares[sq];
+            if (p != null) b.addPiece(newPiece(p.type(), p.getColor(), Position.of(sq)));
+        }
+        for (Piece p : offBoard) {
+            Piece c = newPiece(p.type(), p.getColor(), p.getPosition());
+            if (c != null) b.addPiece(c);
+        }
+        b.setSideToMove(sideToMove);
+        return b;
+    }
+
+    // FEN: piesele + partea la mutare; rocada / en passant nu exista pe tabla asta, deci sunt ignorate
+    // (contoarele de mutari sunt ale jocului, nu ale tablei)
+    public void loadFen(String fen) throws InvalidFenException {
+        if (fen == null || fen.isBlank()) throw new InvalidFenException("Empty FEN");
+        String[] parts = fen.trim().split("\\s+");
+        String[] ranks = parts[0].split("/");
+        if (ranks.length != 8) throw new InvalidFenException("FEN needs 8 ranks: " + fen);
+
+        clear();
+        for (int r = 0; r < 8; r++) {
+            int y = 8 - r;
+            int x = 0;
+            for (char ch : ranks[r].toCharArray()) {
+                if (ch >= '1' && ch <= '8') {
+                    x += ch - '0';
+                    continue;
+                }
+                Piece p = (x < 8) ? newPiece(ch, Character.isUpperCase(ch) ? Colors.WHITE : Colors.BLACK,
+                        Position.of((char) ('A' + x), y)) : null;
+                if (p == null) throw new InvalidFenException("Bad FEN rank " + y + ": " + ranks[r]);
+                addPiece(p);
+                x++;
+            }
+            if (x != 8) throw new InvalidFenException("Bad FEN rank " + y + ": " + ranks[r]);
+        }
+
+        String side = (parts.length > 1) ? parts[1] : "w";
+        if (!side.equals("w") && !side.equals("b")) throw new InvalidFenException("Bad side to move: " + side);
+        setSideToMove(side.equals("w") ? Colors.WHITE : Colors.BLACK);
+    }
+
+    // primele 4 campuri FEN (fara rocada / en passant: "-"); ceasurile le adauga Game.toFen()
+    public String toFen() {
+        StringBuilder sb = new StringBuilder(64);
+        for (int y = 8; y >= 1; y--) {
+            int empty = 0;
+            for (int file = 0; file < 8; file++) {
+                Piece p = squares[(y - 1) * 8 + file];
+                if (p == null) {
+                    empty++;
+                    continue;
+                }
+                if (empty > 0) sb.append(empty);
+                empty = 0;
+                char t = p.type();
+                sb.append(p.getColor() == Colors.WHITE ? t : Character.toLowerCase(t));
+            }
+            if (empty > 0) sb.append(empty);
+            if (y > 1) sb.append('/');
+        }
+        sb.append(sideToMove == Colors.WHITE ? " w" : " b").append(" - -");
+        return sb.toString();
+    }
+
+    public static Piece newPiece(char type, Colors color, Position position) {
+        switch (Character.toUpperCase(type)) {
+            case 'K': return new King(color, position);
+            case 'Q': return new Queen(color, position);
+            case 'R': return new Rook(color, position);
+            case 'B': return new Bishop(color, position);
+            case 'N': return new Knight(color, position);
+            case 'P': return new Pawn(color, position);
+            default: return null;
+        }
     }
 
     public String render() {
         StringBuilder sb = new StringBuilder();
         for (int y = 8; y >= 1; y--) {
             sb.append(y).append(" ");
-            for (char x = 'A'; x <= 'H'; x++) {
-                Piece p = getPieceAt(new Position(x, y));
+            for (int file = 0; file < 8; file++) {
+                Piece p = squares[(y - 1) * 8 + file];
                 if (p == null) sb.append(".  ");
                 else {
                     char t = p.type();
@@ -107,58 +373,206 @@ public class Board {
         return sb.toString();
     }
 
-    private Position findKing(Colors color) {
-        for (ChessPair<Position, Piece> pair : pieces) {
-            Piece piece = (pair != null) ? pair.getValue() : null;
-            if (piece instanceof King && piece.getColor() == color) return norm(pair.getKey());
+    public boolean isInCheck(Colors kingColor) {
+        int kingSq = getKingSquare(kingColor);
+        if (kingSq < 0) return false;
+        Colors attacker = (kingColor == Colors.WHITE) ? Colors.BLACK : Colors.WHITE;
+        return isSquareAttacked(kingSq, attacker);
+    }
+
+    // mutari pseudo-legale (regele poate ramane in sah), fara alocari
+    public void generatePseudoMoves(Colors color, MoveList out) {
+        out.clear();
+        long own = getOccupancy(color);
+        while (own != 0) {
+            int sq = Long.numberOfTrailingZeros(own);
+            own &= own - 1;
+            squares[sq].generateMoves(this, out);
         }
-        return null;
     }
 
-    public boolean isInCheck(Colors kingColor) {
-        Position kingPos = findKing(kingColor);
-        if (kingPos == null) return false;
-        Colors attacker = (kingColor == Colors.WHITE) ? Colors.BLACK : Colors.WHITE;
-        return isSquareAttacked(kingPos, attacker);
+    public boolean isSquareAttacked(Position square, Colors byColor) {
+        int sq = square(norm(square));
+        return sq >= 0 && isSquareAttacked(sq, byColor);
+    }
+
+    // ne uitam din patratul tinta spre exterior, cu tabelele din Attacks
+    public boolean isSquareAttacked(int sq, Colors byColor) {
+        int c = colorIndex(byColor);
+        return c >= 0 && isSquareAttacked(sq, c, occupied);
     }
 
-    private boolean isSquareAttacked(Position square, Colors byColor) {
-        square = norm(square);
-        for (ChessPair<Position, Piece> pair : pieces) {
-            Piece p = (pair != null) ? pair.getValue() : null;
-            if (p == null || p.getColor() != byColor) continue;
+    // cu o ocupare data (ex. fara regele care se muta, ca sa nu se "ascunda" in spatele lui)
+    private boolean isSquareAttacked(int sq, int c, long occupied) {
+        long[] bb = bitboards[c];
 
-            List<Position> moves = p.getPossibleMoves(this);
-            if (moves == null) continue;
+        if ((Attacks.PAWN[1 - c][sq] & bb[0]) != 0) return true;
+        if ((Attacks.KNIGHT[sq] & bb[1]) != 0) return true;
+        if ((Attacks.KING[sq] & bb[5]) != 0) return true;
 
-            for (Position m : moves) {
-                if (m != null && norm(m).equals(square)) return true;
+        long diag = bb[2] | bb[4];
+        if (diag != 0 && (Attacks.bishop(sq, occupied) & diag) != 0) return true;
+        long straight = bb[3] | bb[4];
+        return straight != 0 && (Attacks.rook(sq, occupied) & straight) != 0;
+    }
+
+    // toate piesele (ambele culori) care ataca sq, cu ocuparea data
+    public long attackersTo(int sq, long occupied) {
+        long[] w = bitboards[0], b = bitboards[1];
+        return (Attacks.PAWN[1][sq] & w[0]) | (Attacks.PAWN[0][sq] & b[0])
+                | (Attacks.KNIGHT[sq] & (w[1] | b[1]))
+                | (Attacks.KING[sq] & (w[5] | b[5]))
+                | (Attacks.bishop(sq, occupied) & (w[2] | b[2] | w[4] | b[4]))
+                | (Attacks.rook(sq, occupied) & (w[3] | b[3] | w[4] | b[4]));
+    }
+
+    // ---------------- legal move generation ----------------
+
+    public MoveList generateLegalMoves(Colors color) {
+        MoveList out = new MoveList();
+        generateLegalMoves(color, out);
+        return out;
+    }
+
+    // doar mutari legale: piesele legate si raspunsurile la sah sunt calculate de la inceput,
+    // deci nu mai simulam fiecare mutare
+    public void generateLegalMoves(Colors color, MoveList out) {
+        out.clear();
+        int c = colorIndex(color);
+        if (c < 0) return;
+
+        int kingSq = kingSquare[c];
+        if (kingSq < 0) {
+            // fara rege nu exista sah (ca in wouldLeaveKingInCheck)
+            generatePseudoMoves(color, out);
+            return;
+        }
+
+        int them = 1 - c;
+        long own = occupancy[c];
+        long enemies = occupancy[them];
+        long[] eb = bitboards[them];
+
+        long checkers = attackersTo(kingSq, occupied) & enemies;
+
+        // piese legate: exact o piesa de-a noastra intre rege si un atacator pe linie
+        long pinned = 0L;
+        long snipers = (Attacks.rook(kingSq, 0L) & (eb[3] | eb[4]))
+                | (Attacks.bishop(kingSq, 0L) & (eb[2] | eb[4]));
+        while (snipers != 0) {
+            int s = Long.numberOfTrailingZeros(snipers);
+            snipers &= snipers - 1;
+            long between = Attacks.BETWEEN[kingSq][s] & occupied;
+            if (Long.bitCount(between) == 1 && (between & own) != 0) pinned |= between;
+        }
+
+        // regele: fiecare tinta verificata fara rege pe tabla
+        long withoutKing = occupied & ~(1L << kingSq);
+        long kingTargets = Attacks.KING[kingSq] & ~own;
+        while (kingTargets != 0) {
+            int to = Long.numberOfTrailingZeros(kingTargets);
+            kingTargets &= kingTargets - 1;
+            if (!isSquareAttacked(to, them, withoutKing)) {
+                out.add(MoveList.encode(kingSq, to, ' ', ((occupied >>> to) & 1L) != 0));
             }
         }
-        return false;
+
+        // sah dublu -> doar regele
+        if (Long.bitCount(checkers) > 1) return;
+
+        long targetMask = ~own;
+        if (checkers != 0) {
+            int checker = Long.numberOfTrailingZeros(checkers);
+            targetMask = checkers | Attacks.BETWEEN[kingSq][checker];
+        }
+
+        long others = own & ~(1L << kingSq);
+        while (others != 0) {
+            int sq = Long.numberOfTrailingZeros(others);
+            others &= others - 1;
+
+            int start = out.size();
+            squares[sq].generateMoves(this, out);
+
+            long allowed = targetMask;
+            if (((pinned >>> sq) & 1L) != 0) allowed &= Attacks.LINE[kingSq][sq];
+
+            int keep = start;
+            for (int i = start; i < out.size(); i++) {
+                int m = out.get(i);
+                if (((allowed >>> MoveList.to(m)) & 1L) != 0) out.set(keep++, m);
+            }
+            out.truncate(keep);
+        }
     }
 
     private boolean wouldLeaveKingInCheck(Position from, Position to, Colors currentColor) {
-        from = norm(from);
-        to = norm(to);
+        makeMove(square(from), square(to), 'Q', scratchUndo);
+        boolean inCheck = isInCheck(currentColor);
+        unmakeMove(scratchUndo);
+        return inCheck;
+    }
 
-        Piece moving = getPieceAt(from);
-        Piece captured = getPieceAt(to);
+    // ---------------- make / unmake ----------------
 
-        removeAt(from);
-        if (captured != null) removeAt(to);
+    // mutare fara validare (pseudo-legala); pentru validare vezi isValidMove / movePiece
+    // dupa mutare e randul adversarului piesei mutate (unmakeMove reface partea la mutare)
+    public UndoInfo makeMove(Move move) {
+        return makeMove(move.getFrom(), move.getTo(), 'Q');
+    }
 
-        moving.setPosition(to);
-        addPiece(moving);
+    public UndoInfo makeMove(Position from, Position to, char promoteTo) {
+        return makeMove(square(norm(from)), square(norm(to)), promoteTo, new UndoInfo());
+    }
 
-        boolean inCheck = isInCheck(currentColor);
+    // mutare impachetata (vezi MoveList); fara promovare explicita -> dama
+    public UndoInfo makeMove(int move, UndoInfo undo) {
+        char promo = MoveList.promotion(move);
+        return makeMove(MoveList.from(move), MoveList.to(move), (promo == ' ') ? 'Q' : promo, undo);
+    }
 
-        removeAt(to);
-        moving.setPosition(from);
-        addPiece(moving);
-        if (captured != null) addPiece(captured);
+    // varianta fara alocare: undo-ul e refolosit de apelant
+    public UndoInfo makeMove(int from, int to, char promoteTo, UndoInfo undo) {
+        Piece moving = squares[from];
+        Piece captured = squares[to];
+        Position fromPosition = moving.getPosition();
 
-        return inCheck;
+        if (captured != null) clearBits(captured, to);
+        clearBits(moving, from);
+
+        Piece placed = moving;
+        Position dest = Position.of(to);
+        int lastRank = (moving.getColor() == Colors.WHITE) ? 7 : 0;
+        if (moving instanceof Pawn && to / 8 == lastRank) {
+            placed = promote(moving.getColor(), dest, promoteTo);
+        }
+        moving.setPosition(dest);
+        setBits(placed, to);
+        piecesDirty = true;
+
+        undo.set(from, to, moving, placed, captured, fromPosition, sideToMove);
+        setSideToMove((moving.getColor() == Colors.WHITE) ? Colors.BLACK : Colors.WHITE);
+        return undo;
+    }
+
+    public void unmakeMove(UndoInfo undo) {
+        int from = undo.getFrom();
+        int to = undo.getTo();
+
+        clearBits(undo.getPlaced(), to);
+        undo.getMoved().setPosition(undo.getFromPosition());
+        setBits(undo.getMoved(), from);
+        if (undo.getCaptured() != null) setBits(undo.getCaptured(), to);
+        piecesDirty = true;
+        setSideToMove(undo.getSideToMove());
+    }
+
+    private Piece promote(Colors color, Position to, char promoteTo) {
+        char t = Character.toUpperCase(promoteTo);
+        if (t == 'R') return new Rook(color, to);
+        if (t == 'B') return new Bishop(color, to);
+        if (t == 'N') return new Knight(color, to);
+        return new Queen(color, to);
     }
 
     public boolean isValidMove(Position from, Position to, Colors currentColor) {
@@ -234,19 +648,6 @@ public class Board {
         if (wouldLeaveKingInCheck(from, to, currentColor))
             throw new InvalidMoveException("Move leaves king in check");
 
-        removeAt(from);
-        if (dst != null) removeAt(to);
-
-        piece.setPosition(to);
-
-        if (piece instanceof Pawn && requiresPromotion(from, to)) {
-            char t = Character.toUpperCase(promoteTo);
-            if (t == 'R') piece = new Rook(currentColor, to);
-            else if (t == 'B') piece = new Bishop(currentColor, to);
-            else if (t == 'N') piece = new Knight(currentColor, to);
-            else piece = new Queen(currentColor, to);
-        }
-
-        addPiece(piece);
+        makeMove(square(from), square(to), promoteTo, new UndoInfo());
     }
 }
@@ -0,0 +1,4 @@
+package game;
+
+// cum isi alege computer-ul mutarea
+public enum ComputerMode { RANDOM, ENGINE }
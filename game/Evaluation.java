@@ -0,0 +1,91 @@
+package game;
+
+import model.pieces.Piece;
+
+// valori de material + tabele piesa-patrat (PST), pe scara din Player.piecePoints (pion = 10)
+// Board le aduna incremental la fiecare plasare/stergere, deci evaluarea se citeste in O(1)
+public final class Evaluation {
+
+    private Evaluation() { }
+
+    // in ordinea Board.PIECE_TYPES: P, N, B, R, Q, K
+    private static final int[] VALUES = { 10, 30, 30, 50, 90, 0 };
+
+    // tabelele sunt scrise cum se vede tabla din partea albului: primul rand = rangul 8
+    // alb: PST[t][sq ^ 56], negru: PST[t][sq] (oglindire pe verticala)
+    private static final int[][] PST = {
+            { // pion
+                     0,  0,  0,  0,  0,  0,  0,  0,
+                     5,  5,  5,  5,  5,  5,  5,  5,
+                     1,  1,  2,  3,  3,  2,  1,  1,
+                     0,  0,  1,  2,  2,  1,  0,  0,
+                     0,  0,  0,  2,  2,  0,  0,  0,
+                     0, -1, -1,  0,  0, -1, -1,  0,
+                     1,  1,  1, -2, -2,  1,  1,  1,
+                     0,  0,  0,  0,  0,  0,  0,  0,
+            },
+            { // cal
+                    -5, -4, -3, -3, -3, -3, -4, -5,
+                    -4, -2,  0,  0,  0,  0, -2, -4,
+                    -3,  0,  1,  2,  2,  1,  0, -3,
+                    -3,  1,  2,  2,  2,  2,  1, -3,
+                    -3,  0,  2,  2,  2,  2,  0, -3,
+                    -3,  1,  1,  2,  2,  1,  1, -3,
+                    -4, -2,  0,  1,  1,  0, -2, -4,
+                    -5, -4, -3, -3, -3, -3, -4, -5,
+            },
+            { // nebun
+                    -2, -1, -1, -1, -1, -1, -1, -2,
+                    -1,  0,  0,  0,  0,  0,  0, -1,
+                    -1,  0,  1,  1,  1,  1,  0, -1,
+                    -1,  1,  1,  1,  1,  1,  1, -1,
+                    -1,  0,  1,  1,  1,  1,  0, -1,
+                    -1,  1,  1,  1,  1,  1,  1, -1,
+                    -1,  1,  0,  0,  0,  0,  1, -1,
+                    -2, -1, -1, -1, -1, -1, -1, -2,
+            },
+            { // turn
+                     0,  0,  0,  0,  0,  0,  0,  0,
+                     1,  1,  1,  1,  1,  1,  1,  1,
+                    -1,  0,  0,  0,  0,  0,  0, -1,
+                    -1,  0,  0,  0,  0,  0,  0, -1,
+                    -1,  0,  0,  0,  0,  0,  0, -1,
+                    -1,  0,  0,  0,  0,  0,  0, -1,
+                    -1,  0,  0,  0,  0,  0,  0, -1,
+                     0,  0,  0,  1,  1,  0,  0,  0,
+            },
+            { // dama
+                    -2, -1, -1,  0,  0, -1, -1, -2,
+                    -1,  0,  0,  0,  0,  0,  0, -1,
+                    -1,  0,  0,  0,  0,  0,  0, -1,
+                     0,  0,  0,  1,  1,  0,  0,  0,
+                     0,  0,  0,  1,  1,  0,  0,  0,
+                    -1,  0,  0,  0,  0,  0,  0, -1,
+                    -1,  0,  0,  0,  0,  0,  0, -1,
+                    -2, -1, -1,  0,  0, -1, -1, -2,
+            },
+            { // rege (joc de mijloc: ramane in spatele pionilor)
+                    -3, -4, -4, -5, -5, -4, -4, -3,
+                    -3, -4, -4, -5, -5, -4, -4, -3,
+                    -3, -4, -4, -5, -5, -4, -4, -3,
+                    -3, -4, -4, -5, -5, -4, -4, -3,
+                    -2, -3, -3, -4, -4, -3, -3, -2,
+                    -1, -2, -2, -2, -2, -2, -2, -1,
+                     2,  2,  0,  0,  0,  0,  2,  2,
+                     2,  3,  1,  0,  0,  1,  3,  2,
+            },
+    };
+
+    public static int pieceValue(int type) {
+        return (type >= 0 && type < 6) ? VALUES[type] : 0;
+    }
+
+    public static int pieceValue(Piece p) {
+        return pieceValue(Board.typeIndex(p));
+    }
+
+    // bonusul piesa-patrat pentru culoarea c (0 = alb, 1 = negru)
+    public static int pst(int c, int type, int sq) {
+        return PST[type][(c == 0) ? sq ^ 56 : sq];
+    }
+}
@@ -1,9 +1,10 @@
 package game;
 
+import exceptions.InvalidFenException;
 import exceptions.InvalidMoveException;
-import model.ChessPair;
 import model.Colors;
 import model.Position;
+import model.pieces.Pawn;
 import model.pieces.Piece;
 
 import java.util.*;
@@ -24,8 +25,25 @@ public class Game {
     private Colors winnerColor = null;
     private boolean draw = false;
 
-    // ✅ pentru repetitie de pozitie
-    private final List<String> positionSignatures = new ArrayList<>();
+    // ✅ pentru repetitie de pozitie: cheile Zobrist ale pozitiilor, 8 bytes pe mutare
+    private long[] positionHistory = new long[64];
+    private int historySize = 0;
+    private int reversibleFrom = 0;   // indexul primei pozitii de dupa ultima mutare ireversibila
+
+    // de cate ori a aparut fiecare pozitie (de la ultima mutare ireversibila) + regula 50 de mutari
+    private final RepetitionTable repetitions = new RepetitionTable();
+    private int halfmoveClock = 0;
+
+    // ply-ul pozitiei de la care incepe lista de mutari (0 = pozitia initiala), pentru numarul mutarii din FEN
+    private int startPly = 0;
+
+    // cache pentru pozitia curenta (mutari legale + sah), refolosit pana se schimba pozitia;
+    // cheia Zobrist include partea la mutare, deci si ConsoleUI (care muta direct pe Board) e acoperit
+    private final MoveList legalMoves = new MoveList();
+    private boolean cacheValid = false;
+    private long cachedKey;
+    private Board cachedBoard;
+    private boolean cachedInCheck;
 
     public Game() { }
 
@@ -43,13 +61,20 @@ public class Game {
     public Colors getCurrentTurn() { return currentTurn; }
     public Colors getWinnerColor() { return winnerColor; }
     public boolean isDraw() { return draw; }
+    public int getHalfmoveClock() { return halfmoveClock; }
 
     public void setId(int id) { this.id = id; }
-    public void setBoard(Board board) { this.board = board; }
+    public void setBoard(Board board) {
+        this.board = board;
+        if (board != null && currentTurn != null) board.setSideToMove(currentTurn);
+    }
     public void setWhitePlayer(Player p) { this.whitePlayer = p; }
     public void setBlackPlayer(Player p) { this.blackPlayer = p; }
     public void setMoves(List<Move> moves) { this.moves = moves; }
-    public void setCurrentTurn(Colors t) { this.currentTurn = t; }
+    public void setCurrentTurn(Colors t) {
+        this.currentTurn = t;
+        if (board != null && t != null) board.setSideToMove(t);
+    }
 
     public void start() {
         if (board == null) board = new Board();
@@ -60,12 +85,51 @@ public class Game {
 
         currentTurn = Colors.WHITE;
         currentPlayerIndex = 0;
+        board.setSideToMove(currentTurn);
 
         winnerColor = null;
         draw = false;
 
-        positionSignatures.clear();
-        positionSignatures.add(makePositionSignature());
+        invalidatePositionCache();
+        historySize = 0;
+        reversibleFrom = 0;
+        repetitions.clear();
+        halfmoveClock = 0;
+        startPly = 0;
+        recordPosition();
+    }
+
+    // FEN complet: tabla + ceasul de 50 de mutari + numarul mutarii
+    public String toFen() {
+        int ply = startPly + (moves == null ? 0 : moves.size());
+        return board.toFen() + " " + halfmoveClock + " " + (1 + ply / 2);
+    }
+
+    // pozitia curenta din FEN; mutarile deja salvate raman istoricul de dinaintea ei
+    public void loadFen(String fen) throws InvalidFenException {
+        if (board == null) board = new Board();
+        board.loadFen(fen);
+
+        String[] parts = fen.trim().split("\\s+");
+        int clock = 0, fullmove = 1;
+        try {
+            if (parts.length > 4) clock = Integer.parseInt(parts[4]);
+            if (parts.length > 5) fullmove = Integer.parseInt(parts[5]);
+        } catch (NumberFormatException e) {
+            throw new InvalidFenException("Bad FEN move counters: " + fen);
+        }
+        if (clock < 0 || fullmove < 1) throw new InvalidFenException("Bad FEN move counters: " + fen);
+
+        currentTurn = board.getSideToMove();
+        currentPlayerIndex = (currentTurn == Colors.WHITE) ? 0 : 1;
+        halfmoveClock = clock;
+        int ply = (fullmove - 1) * 2 + currentPlayerIndex;
+        startPly = Math.max(0, ply - (moves == null ? 0 : moves.size()));
+
+        invalidatePositionCache();
+        historySize = 0;
+        reversibleFrom = 0;
+        repetitions.clear();
     }
 
     public void resume() {
@@ -73,111 +137,129 @@ public class Game {
         if (currentTurn == null) currentTurn = Colors.WHITE;
 
         currentPlayerIndex = (currentTurn == Colors.WHITE) ? 0 : 1;
+        board.setSideToMove(currentTurn);
 
         winnerColor = null;
         draw = false;
 
         // reconstruieste istoric minim (ca sa nu fie gol)
-        if (positionSignatures.isEmpty()) {
-            positionSignatures.add(makePositionSignature());
-        }
+        if (historySize == 0) recordPosition();
     }
 
     public void switchPlayer() {
         currentPlayerIndex = 1 - currentPlayerIndex;
         currentTurn = (currentTurn == Colors.WHITE) ? Colors.BLACK : Colors.WHITE;
+        board.setSideToMove(currentTurn);
     }
 
     // compat ConsoleUI
     public void switchTurn() { switchPlayer(); }
 
+    // mutarea e deja jucata pe tabla; pion = piesa de pe "to" (fara promovari, vezi overload-ul privat)
     public void addMove(Move move) {
-        if (moves == null) moves = new ArrayList<>();
-        moves.add(move);
-
-        // dupa fiecare mutare, salveaza semnatura + verifica repetitie
-        positionSignatures.add(makePositionSignature());
-        checkDrawByPositionRepetition();
+        boolean pawnMove = move != null && board.getPieceAt(move.getTo()) instanceof Pawn;
+        addMove(move, pawnMove);
     }
 
-    // ✅ semnatura determinista: turn + lista piese sortata
-    private String makePositionSignature() {
-        List<String> parts = new ArrayList<>();
-
-        List<ChessPair<Position, Piece>> snapshot = new ArrayList<>(board.getPieces());
-        for (ChessPair<Position, Piece> pr : snapshot) {
-            if (pr == null || pr.getKey() == null || pr.getValue() == null) continue;
-
-            Position pos = pr.getKey();
-            Piece pc = pr.getValue();
-
-            char x = Character.toUpperCase(pos.getX());
-            int y = pos.getY();
-
-            char type = pc.type(); // K Q R B N P
-            char col = (pc.getColor() == Colors.WHITE) ? 'W' : 'B';
+    private void addMove(Move move, boolean pawnMove) {
+        if (moves == null) moves = new ArrayList<>();
+        moves.add(move);
 
-            parts.add("" + type + col + x + y); // ex: PW A2 -> "PWA2" (fara spatii)
+        // captura sau pion -> pozitiile de dinainte nu se mai pot repeta
+        boolean irreversible = pawnMove || (move != null && move.getCaptured() != null);
+        if (irreversible) {
+            halfmoveClock = 0;
+            reversibleFrom = historySize;
+            repetitions.clear();
+        } else {
+            halfmoveClock++;
         }
 
-        Collections.sort(parts);
+        // dupa fiecare mutare, salveaza cheia pozitiei + verifica repetitie
+        int seen = recordPosition();
+        checkDrawByPositionRepetition(seen);
+    }
 
-        StringBuilder sb = new StringBuilder();
-        sb.append(currentTurn == Colors.WHITE ? "T=W|" : "T=B|");
-        for (String s : parts) sb.append(s).append(",");
-        return sb.toString();
+    // cheia vine incremental din Board, deci O(1) pe mutare
+    private int recordPosition() {
+        if (historySize == positionHistory.length) {
+            positionHistory = Arrays.copyOf(positionHistory, historySize * 2);
+        }
+        long key = board.getHashKey();
+        positionHistory[historySize++] = key;
+        return repetitions.increment(key);
     }
 
-    // ✅ cerinta: aceeasi pozitie repetata de 3 ori consecutiv
-    private void checkDrawByPositionRepetition() {
-        if (positionSignatures.size() < 3) return;
+    // pozitiile care se mai pot repeta (de la ultima captura / mutare de pion), cea curenta ultima;
+    // motorul le primeste ca sa vada repetitiile din cautare
+    public long[] getRepetitionKeys() {
+        return Arrays.copyOfRange(positionHistory, reversibleFrom, historySize);
+    }
 
-        String s1 = positionSignatures.get(positionSignatures.size() - 1);
-        String s2 = positionSignatures.get(positionSignatures.size() - 2);
-        String s3 = positionSignatures.get(positionSignatures.size() - 3);
+    // remiza = infrangere pentru computer-ul jocului (vezi checkDrawByPositionRepetition);
+    // celalalt (ex. al doilea computer din Tournament) o trateaza neutru, ca sa nu o caute intentionat
+    public boolean isDrawLossFor(Player cpu) {
+        return cpu != null && cpu == getComputerPlayer();
+    }
 
-        if (s1.equals(s2) && s2.equals(s3)) {
+    // ✅ aceeasi pozitie de 3 ori (nu neaparat consecutiv) sau 50 de mutari fara captura/pion
+    private void checkDrawByPositionRepetition(int seen) {
+        if (seen >= 3 || halfmoveClock >= 100) {
             draw = true;
             // computer “resigns” la egalitate => user castiga
             winnerColor = (getComputerPlayer().getColor() == Colors.WHITE) ? Colors.BLACK : Colors.WHITE;
         }
     }
 
-    public boolean checkForCheckMate() {
-        Colors victim = currentTurn;
-        if (!board.isInCheck(victim)) return false;
+    private void ensurePositionCache() {
+        long key = board.getHashKey();
+        if (cacheValid && cachedBoard == board && cachedKey == key) return;
 
-        List<ChessPair<Position, Piece>> snapshot = new ArrayList<>(board.getPieces());
+        board.generateLegalMoves(currentTurn, legalMoves);
+        cachedInCheck = board.isInCheck(currentTurn);
+        cachedKey = key;
+        cachedBoard = board;
+        cacheValid = true;
+    }
 
-        for (ChessPair<Position, Piece> pr : snapshot) {
-            if (pr == null || pr.getValue() == null) continue;
-            Piece p = pr.getValue();
-            if (p.getColor() != victim) continue;
+    private void invalidatePositionCache() { cacheValid = false; }
 
-            Position from = pr.getKey();
-            List<Position> pm = p.getPossibleMoves(board);
-            if (pm == null) continue;
+    // mutarile legale ale partii la mutare (nu modifica lista primita!)
+    public MoveList getLegalMoves() {
+        ensurePositionCache();
+        return legalMoves;
+    }
 
-            for (Position to : pm) {
-                try {
-                    if (board.isValidMove(from, to, victim)) return false;
-                } catch (Throwable ignore) { }
-            }
-        }
+    public boolean isInCheck() {
+        ensurePositionCache();
+        return cachedInCheck;
+    }
 
-        winnerColor = (victim == Colors.WHITE) ? Colors.BLACK : Colors.WHITE;
+    public boolean checkForCheckMate() {
+        ensurePositionCache();
+        if (!cachedInCheck || !legalMoves.isEmpty()) return false;
+
+        winnerColor = (currentTurn == Colors.WHITE) ? Colors.BLACK : Colors.WHITE;
         return true;
     }
 
+    public boolean checkForStaleMate() {
+        ensurePositionCache();
+        return !cachedInCheck && legalMoves.isEmpty();
+    }
+
     public void tryMove(Player p, Position from, Position to, char promoteTo) throws InvalidMoveException {
         if (p == null) throw new InvalidMoveException("No player");
         if (p.getColor() != currentTurn) throw new InvalidMoveException("Not your turn");
 
         Piece captured = board.getPieceAt(to);
+        boolean pawnMove = board.getPieceAt(from) instanceof Pawn;
         board.movePiece(from, to, p.getColor(), promoteTo);
 
+        invalidatePositionCache();
+
         Move mv = new Move(p.getColor(), from, to, captured);
-        addMove(mv);
+        addMove(mv, pawnMove);
 
         if (captured != null) p.addCapturedPiece(captured);
 
@@ -188,18 +270,35 @@ public class Game {
         tryMove(p, from, to, 'Q');
     }
 
+    // computer-ul muta dupa modul lui: random sau motor (vezi ComputerMode)
     public void makeRandomMoveFor(Player cpu) throws InvalidMoveException {
         if (cpu == null) throw new InvalidMoveException("No cpu");
         if (cpu.getColor() != currentTurn) throw new InvalidMoveException("Not cpu turn");
 
-        Position[] mv = cpu.pickRandomLegalMove(board);
-        if (mv == null) throw new InvalidMoveException("No legal moves");
+        Position from, to;
+        char promo = 'Q';
+        if (cpu.getMode() == ComputerMode.ENGINE) {
+            if (cpu.getStrategy() == null) throw new InvalidMoveException("No engine attached to " + cpu.getName());
+            int m = cpu.pickEngineMove(board, getRepetitionKeys(), isDrawLossFor(cpu));
+            if (m < 0) throw new InvalidMoveException("No legal moves");
+            from = Position.of(MoveList.from(m));
+            to = Position.of(MoveList.to(m));
+            if (MoveList.promotion(m) != ' ') promo = MoveList.promotion(m);
+        } else {
+            // lista legala vine din cache (de obicei deja calculata de checkForCheckMate)
+            Position[] mv = cpu.pickRandomLegalMove(getLegalMoves());
+            if (mv == null) throw new InvalidMoveException("No legal moves");
+            from = mv[0];
+            to = mv[1];
+        }
 
-        Piece captured = board.getPieceAt(mv[1]);
-        board.movePiece(mv[0], mv[1], cpu.getColor(), 'Q');
+        Piece captured = board.getPieceAt(to);
+        boolean pawnMove = board.getPieceAt(from) instanceof Pawn;
+        board.movePiece(from, to, cpu.getColor(), promo);
+        invalidatePositionCache();
 
-        Move m = new Move(cpu.getColor(), mv[0], mv[1], captured);
-        addMove(m);
+        Move m = new Move(cpu.getColor(), from, to, captured);
+        addMove(m, pawnMove);
 
         if (captured != null) cpu.addCapturedPiece(captured);
 
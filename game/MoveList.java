@@ -0,0 +1,66 @@
+package game;
+
+// buffer refolosibil de mutari impachetate in int, ca generarea sa nu aloce nimic:
+// from (bitii 0-5) | to (6-11) | promovare (12-14, vezi PROMOTIONS) | captura (15)
+public class MoveList {
+
+    public static final int CAPTURE = 1 << 15;
+    public static final String PROMOTIONS = " NBRQ";
+
+    private final int[] moves;
+    private int size;
+
+    public MoveList() { this(256); }
+
+    public MoveList(int capacity) { this.moves = new int[capacity]; }
+
+    public void clear() { size = 0; }
+    public int size() { return size; }
+    public boolean isEmpty() { return size == 0; }
+    public int get(int i) { return moves[i]; }
+
+    public void add(int move) { moves[size++] = move; }
+    public void set(int i, int move) { moves[i] = move; }
+    public void truncate(int newSize) { size = newSize; }
+
+    public void swap(int i, int j) {
+        int t = moves[i];
+        moves[i] = moves[j];
+        moves[j] = t;
+    }
+
+    public boolean contains(int move) {
+        for (int i = 0; i < size; i++) if (moves[i] == move) return true;
+        return false;
+    }
+
+    // cate o mutare de pe "from" spre fiecare bit din targets
+    public void addTargets(int from, long targets, long enemies) {
+        while (targets != 0) {
+            int to = Long.numberOfTrailingZeros(targets);
+            targets &= targets - 1;
+            add(encode(from, to, ' ', ((enemies >>> to) & 1L) != 0));
+        }
+    }
+
+    // ---------- encoding ----------
+
+    public static int encode(int from, int to, char promotion, boolean capture) {
+        int promo = Math.max(0, PROMOTIONS.indexOf(Character.toUpperCase(promotion)));
+        return from | (to << 6) | (promo << 12) | (capture ? CAPTURE : 0);
+    }
+
+    public static int from(int move) { return move & 63; }
+    public static int to(int move) { return (move >>> 6) & 63; }
+    public static boolean isCapture(int move) { return (move & CAPTURE) != 0; }
+
+    // ' ' daca nu e promovare
+    public static char promotion(int move) { return PROMOTIONS.charAt((move >>> 12) & 7); }
+
+    public static String toString(int move) {
+        int from = from(move), to = to(move);
+        String s = "" + (char) ('A' + from % 8) + (from / 8 + 1) + "-" + (char) ('A' + to % 8) + (to / 8 + 1);
+        char p = promotion(move);
+        return (p == ' ') ? s : s + "=" + p;
+    }
+}
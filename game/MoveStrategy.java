@@ -0,0 +1,18 @@
+package game;
+
+// cum isi alege computer-ul mutarea in modul ENGINE; implementarea (motorul) sta in pachetul engine,
+// ca game sa nu depinda de el. mutarile sunt impachetate ca in MoveList
+public interface MoveStrategy {
+
+    // history = cheile pozitiilor din partida (Game.getRepetitionKeys), ca repetitiile sa se vada;
+    // drawIsLoss: remiza e pierdere pentru computer (regula din Game). -1 daca nu exista mutari legale
+    int pickMove(Board board, long[] history, boolean drawIsLoss);
+
+    // cautare in fundal cat timp adversarul e la mutare (board = pozitia cu adversarul la mutare)
+    default void startPondering(Board board, long[] history, boolean drawIsLoss) { }
+
+    default void stopPondering() { }
+
+    // elibereaza firele / tabelele (la schimbarea strategiei)
+    default void close() { }
+}
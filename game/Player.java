@@ -7,6 +7,7 @@ import model.Position;
 import model.pieces.*;
 
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
 
 public class Player {
 
@@ -18,6 +19,13 @@ public class Player {
 
     private int points;
 
+    private final MoveList legalMoves = new MoveList();
+
+    // doar pentru computer: random (implicit) sau motor; in modul ENGINE mutarea vine din strategie
+    // (ex. engine.EngineMoveStrategy, atasata de aplicatie), ca game sa nu depinda de engine
+    private ComputerMode mode = ComputerMode.RANDOM;
+    private MoveStrategy strategy;
+
     public Player() { }
 
     public Player(String name, Colors color) {
@@ -33,6 +41,24 @@ public class Player {
     public List<Piece> getCapturedPieces() { return capturedPieces; }
     public List<ChessPair<Position, Piece>> getOwnedPieces() { return new ArrayList<>(ownedPieces); }
 
+    public ComputerMode getMode() { return mode; }
+    public void setMode(ComputerMode mode) { this.mode = (mode == null) ? ComputerMode.RANDOM : mode; }
+    public MoveStrategy getStrategy() { return strategy; }
+    public void setStrategy(MoveStrategy strategy) {
+        if (this.strategy != null && this.strategy != strategy) this.strategy.close();
+        this.strategy = strategy;
+    }
+
+    // doar in modul ENGINE: b = pozitia cu adversarul la mutare; firul de fundal merge pana la stopPondering
+    public void startPondering(Board b, long[] history, boolean drawIsLoss) {
+        if (mode == ComputerMode.ENGINE && strategy != null) strategy.startPondering(b, history, drawIsLoss);
+    }
+
+    // opreste cautarea de fundal (la mutarea omului, leave, resign); raspunsurile gata calculate raman
+    public void stopPondering() {
+        if (strategy != null) strategy.stopPondering();
+    }
+
     public int getPoints() { return points; }
     public void setPoints(int points) { this.points = points; }
 
@@ -43,13 +69,9 @@ public class Player {
         }
     }
 
+    // aceeasi scara ca evaluarea motorului (vezi Evaluation)
     private int piecePoints(Piece p) {
-        if (p instanceof Queen) return 90;
-        if (p instanceof Rook) return 50;
-        if (p instanceof Bishop) return 30;
-        if (p instanceof Knight) return 30;
-        if (p instanceof Pawn) return 10;
-        return 0;
+        return Evaluation.pieceValue(p);
     }
 
     public Move makeMove(Board board, Position from, Position to) throws InvalidMoveException {
@@ -66,30 +88,41 @@ public class Player {
         return new Move(color, from, to, cap);
     }
 
-    // ✅ IMPORTANT: snapshot ca sa nu crape cand Board simuleaza mutari
+    // mutarile vin direct din generatorul legal, fara simulare per mutare
     public Position[] pickRandomLegalMove(Board b) {
         if (b == null) return null;
 
-        List<Position[]> all = new ArrayList<>();
-        List<ChessPair<Position, Piece>> snapshot = new ArrayList<>(b.getPieces());
-
-        for (ChessPair<Position, Piece> pr : snapshot) {
-            if (pr == null || pr.getValue() == null) continue;
-            Piece p = pr.getValue();
-            if (p.getColor() != color) continue;
-
-            Position from = pr.getKey();
-            List<Position> pm = p.getPossibleMoves(b);
-            if (pm == null) continue;
+        b.generateLegalMoves(color, legalMoves);
+        return pickRandomLegalMove(legalMoves);
+    }
 
-            for (Position to : pm) {
-                try {
-                    if (b.isValidMove(from, to, color)) all.add(new Position[]{from, to});
-                } catch (Throwable ignore) { }
+    // alegere dintr-o lista legala deja calculata (ex. cache-ul din Game)
+    public Position[] pickRandomLegalMove(MoveList legalMoves) {
+        if (legalMoves == null) return null;
+
+        // sub-promovarile le sarim: mutarea se joaca oricum cu dama (ca inainte)
+        int count = 0;
+        for (int i = 0; i < legalMoves.size(); i++) if (isPickable(legalMoves.get(i))) count++;
+        if (count == 0) return null;
+
+        // ThreadLocalRandom: fara Random nou (si fara seed comun) la fiecare mutare, sigur pe mai multe fire
+        int k = ThreadLocalRandom.current().nextInt(count);
+        for (int i = 0; i < legalMoves.size(); i++) {
+            int m = legalMoves.get(i);
+            if (isPickable(m) && k-- == 0) {
+                return new Position[]{Position.of(MoveList.from(m)), Position.of(MoveList.to(m))};
             }
         }
+        return null;
+    }
+
+    // mutare impachetata (vezi MoveList) aleasa de strategie, -1 daca nu exista mutari legale (sau strategie)
+    public int pickEngineMove(Board b, long[] history, boolean drawIsLoss) {
+        return (strategy != null) ? strategy.pickMove(b, history, drawIsLoss) : -1;
+    }
 
-        if (all.isEmpty()) return null;
-        return all.get(new Random().nextInt(all.size()));
+    private boolean isPickable(int move) {
+        char promo = MoveList.promotion(move);
+        return promo == ' ' || promo == 'Q';
     }
 }
@@ -0,0 +1,77 @@
+package game;
+
+import java.util.Arrays;
+
+// tabela long -> count cu adresare deschisa (linear probing), pe cheile Zobrist ale pozitiilor
+public class RepetitionTable {
+
+    private long[] keys;
+    private int[] counts;   // 0 = slot liber
+    private int size;
+    private int shift;
+
+    public RepetitionTable() { this(64); }
+
+    public RepetitionTable(int capacity) {
+        int cap = Integer.highestOneBit(Math.max(16, capacity - 1)) << 1;
+        keys = new long[cap];
+        counts = new int[cap];
+        shift = 64 - Integer.numberOfTrailingZeros(cap);
+    }
+
+    private int slot(long key) {
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> shift);
+    }
+
+    // creste contorul si il intoarce pe cel nou
+    public int increment(long key) {
+        if ((size + 1) * 2 > keys.length) grow();
+
+        int mask = keys.length - 1;
+        int i = slot(key);
+        while (counts[i] != 0) {
+            if (keys[i] == key) return ++counts[i];
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        counts[i] = 1;
+        size++;
+        return 1;
+    }
+
+    public int count(long key) {
+        int mask = keys.length - 1;
+        int i = slot(key);
+        while (counts[i] != 0) {
+            if (keys[i] == key) return counts[i];
+            i = (i + 1) & mask;
+        }
+        return 0;
+    }
+
+    public int size() { return size; }
+
+    public void clear() {
+        if (size == 0) return;
+        Arrays.fill(counts, 0);
+        size = 0;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        int[] oldCounts = counts;
+
+        keys = new long[oldKeys.length * 2];
+        counts = new int[oldKeys.length * 2];
+        shift--;
+
+        int mask = keys.length - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldCounts[j] == 0) continue;
+            int i = slot(oldKeys[j]);
+            while (counts[i] != 0) i = (i + 1) & mask;
+            keys[i] = oldKeys[j];
+            counts[i] = oldCounts[j];
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package game;
+
+import model.Colors;
+import model.Position;
+import model.pieces.Piece;
+
+// tot ce trebuie ca Board.unmakeMove sa puna tabla exact cum era
+public class UndoInfo {
+    private int from = -1;
+    private int to = -1;
+    private Piece moved;       // piesa mutata (pionul, daca a fost promovat)
+    private Piece placed;      // piesa ajunsa pe "to" (alta decat moved la promovare)
+    private Piece captured;    // poate fi null
+    private Position fromPosition;
+    private Colors sideToMove; // partea la mutare dinainte de mutare
+
+    public UndoInfo() { }
+
+    void set(int from, int to, Piece moved, Piece placed, Piece captured, Position fromPosition, Colors sideToMove) {
+        this.from = from;
+        this.to = to;
+        this.moved = moved;
+        this.placed = placed;
+        this.captured = captured;
+        this.fromPosition = fromPosition;
+        this.sideToMove = sideToMove;
+    }
+
+    public int getFrom() { return from; }
+    public int getTo() { return to; }
+    public Piece getMoved() { return moved; }
+    public Piece getPlaced() { return placed; }
+    public Piece getCaptured() { return captured; }
+    public Position getFromPosition() { return fromPosition; }
+    public Colors getSideToMove() { return sideToMove; }
+
+    public boolean isPromotion() { return placed != moved; }
+}
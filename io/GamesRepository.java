@@ -3,7 +3,6 @@ package io;
 import game.Game;
 import game.Move;
 import game.Player;
-import model.ChessPair;
 import model.Colors;
 import model.Position;
 import model.pieces.*;
@@ -64,42 +63,19 @@ public class GamesRepository {
         JSONObject obj = new JSONObject();
         obj.put("id", g.getId());
 
-        // players: [{email,color}]
+        // players: [{email,color}] (+ mode la computer, ca un joc reluat sa pastreze motorul)
         JSONArray players = new JSONArray();
         Player wp = g.getWhitePlayer();
         Player bp = g.getBlackPlayer();
-        if (wp != null) players.add(playerObj(playerEmail(wp), Colors.WHITE));
-        if (bp != null) players.add(playerObj(playerEmail(bp), Colors.BLACK));
+        if (wp != null) players.add(playerObj(wp, Colors.WHITE, wp == g.getComputerPlayer()));
+        if (bp != null) players.add(playerObj(bp, Colors.BLACK, bp == g.getComputerPlayer()));
         obj.put("players", players);
 
         // currentPlayerColor
         obj.put("currentPlayerColor", String.valueOf(g.getCurrentTurn()));
 
-        // board: [{type,color,position}]
-        JSONArray boardArr = new JSONArray();
-
-        // IMPORTANT: la tine e Set<ChessPair<Position, Piece>>
-        Set<ChessPair<Position, model.pieces.Piece>> pieces = g.getBoard().getPieces();
-
-        if (pieces != null) {
-            for (ChessPair<Position, model.pieces.Piece> pair : pieces) {
-                if (pair == null) continue;
-
-                // IMPORTANT: ChessPair la tine NU are getFirst/getSecond.
-                // Cel mai probabil are getKey/getValue (Map.Entry style).
-                Position pos = pair.getKey();
-                model.pieces.Piece piece = pair.getValue();
-
-                if (pos == null || piece == null) continue;
-
-                JSONObject pObj = new JSONObject();
-                pObj.put("type", pieceTypeShort(piece));          // exact ca in json-ul tau: "K,Q,R,B,N,P"
-                pObj.put("color", String.valueOf(piece.getColor()));
-                pObj.put("position", posToString(pos));
-                boardArr.add(pObj);
-            }
-        }
-        obj.put("board", boardArr);
+        // pozitia ca un singur string FEN (tabla + partea la mutare + ceasuri)
+        obj.put("fen", g.toFen());
 
         // moves: [{playerColor,from,to}] (+ captured optional)
         JSONArray movesArr = new JSONArray();
@@ -152,10 +128,12 @@ public class GamesRepository {
     }
 
     @SuppressWarnings("unchecked")
-    private JSONObject playerObj(String email, Colors c) {
+    private JSONObject playerObj(Player p, Colors c, boolean computer) {
+        String email = playerEmail(p);
         JSONObject o = new JSONObject();
         o.put("email", email == null ? "" : email);
         o.put("color", String.valueOf(c));
+        if (computer) o.put("mode", String.valueOf(p.getMode()));
         return o;
     }
 
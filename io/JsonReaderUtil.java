@@ -1,6 +1,8 @@
 package io;
 
+import exceptions.InvalidFenException;
 import game.Board;
+import game.ComputerMode;
 import game.Game;
 import game.Move;
 import game.Player;
@@ -58,7 +60,8 @@ public final class JsonReaderUtil {
         }
     }
 
-    // games.json: [{id, players:[{email,color}], currentPlayerColor, board:[{type,color,position}], moves:[{playerColor,from,to}]}]
+    // games.json: [{id, players:[{email,color,mode?}], currentPlayerColor, fen, moves:[{playerColor,from,to}]}]
+    // fisierele vechi au board:[{type,color,position}] in loc de fen; se citesc ambele
     public static Map<Integer, Game> readGamesAsMap(Path gamesPath) throws IOException, ParseException {
         Map<Integer, Game> map = new HashMap<>();
         if (gamesPath == null || !Files.exists(gamesPath)) return map;
@@ -91,6 +94,7 @@ public final class JsonReaderUtil {
                         String email = asString(pObj.get("email"));
                         Colors c = parseColor(asString(pObj.get("color")));
                         Player p = new Player(email, c);
+                        p.setMode(parseMode(asString(pObj.get("mode"))));
 
                         if (c == Colors.WHITE) white = p;
                         else if (c == Colors.BLACK) black = p;
@@ -106,27 +110,6 @@ public final class JsonReaderUtil {
                 // current turn
                 g.setCurrentTurn(parseColor(asString(obj.get("currentPlayerColor"))));
 
-                // board
-                Board b = new Board();
-                b.clear();
-
-                JSONArray boardArr = asArray(obj.get("board"));
-                if (boardArr != null) {
-                    for (Object bItem : boardArr) {
-                        JSONObject bObj = asObject(bItem);
-                        if (bObj == null) continue;
-
-                        String type = asString(bObj.get("type"));
-                        Colors color = parseColor(asString(bObj.get("color")));
-                        Position pos = parsePos(asString(bObj.get("position")));
-
-                        Piece piece = buildPiece(type, color, pos);
-                        if (piece != null) b.addPiece(piece);
-                    }
-                }
-
-                g.setBoard(b);
-
                 // moves (optional)
                 List<Move> moves = new ArrayList<>();
                 JSONArray movesArr = asArray(obj.get("moves"));
@@ -144,6 +127,14 @@ public final class JsonReaderUtil {
                 }
                 g.setMoves(moves);
 
+                // board: un singur string FEN; daca lipseste (sau e stricat), array-ul vechi
+                if (!loadFen(g, asString(obj.get("fen")))) {
+                    JSONArray boardArr = asArray(obj.get("board"));
+                    // fen stricat si fara array: jocul nu se poate reconstrui, nu il incarcam cu tabla goala
+                    if (boardArr == null && obj.get("fen") != null) continue;
+                    g.setBoard(readLegacyBoard(boardArr));
+                }
+
                 map.put(id, g);
             }
         }
@@ -151,6 +142,36 @@ public final class JsonReaderUtil {
         return map;
     }
 
+    private static boolean loadFen(Game g, String fen) {
+        if (fen == null || fen.isBlank()) return false;
+        try {
+            g.loadFen(fen);
+            return true;
+        } catch (InvalidFenException e) {
+            return false;
+        }
+    }
+
+    // formatul vechi: o intrare {type,color,position} pentru fiecare piesa
+    private static Board readLegacyBoard(JSONArray boardArr) {
+        Board b = new Board();
+        b.clear();
+        if (boardArr == null) return b;
+
+        for (Object bItem : boardArr) {
+            JSONObject bObj = asObject(bItem);
+            if (bObj == null) continue;
+
+            String type = asString(bObj.get("type"));
+            Colors color = parseColor(asString(bObj.get("color")));
+            Position pos = parsePos(asString(bObj.get("position")));
+
+            Piece piece = buildPiece(type, color, pos);
+            if (piece != null) b.addPiece(piece);
+        }
+        return b;
+    }
+
     // leaga users cu game-urile dupa id-urile din accounts.json
     public static void attachUserGames(Path accountsPath, List<User> users, Map<Integer, Game> games)
             throws IOException, ParseException {
@@ -219,6 +240,16 @@ public final class JsonReaderUtil {
         return Colors.GRAY;
     }
 
+    // "mode" lipseste in fisierele vechi (si la jucatorul om): RANDOM, ca inainte
+    private static ComputerMode parseMode(String s) {
+        if (s == null) return ComputerMode.RANDOM;
+        try {
+            return ComputerMode.valueOf(s.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return ComputerMode.RANDOM;
+        }
+    }
+
     private static Position parsePos(String s) {
         if (s == null || s.length() < 2) return null;
         char x = Character.toUpperCase(s.charAt(0));
@@ -228,7 +259,7 @@ public final class JsonReaderUtil {
         } catch (NumberFormatException e) {
             return null;
         }
-        return new Position(x, y);
+        return Position.of(x, y);
     }
 
     private static Piece buildPiece(String type, Colors color, Position pos) {
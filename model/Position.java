@@ -3,12 +3,37 @@ package model;
 import java.util.Objects;
 
 public class Position implements Comparable<Position> {
-    private char x;
-    private int y;
+    private final char x;
+    private final int y;
+    private final int index; // 0..63 (A1 = 0, H8 = 63) sau -1 in afara tablei
+
+    // cele 64 de pozitii de pe tabla, refolosite peste tot (flyweight)
+    private static final Position[] SQUARES = new Position[64];
+    static {
+        for (int sq = 0; sq < 64; sq++) SQUARES[sq] = new Position((char) ('A' + sq % 8), sq / 8 + 1);
+    }
+
+    public Position(char x, int y) {
+        this.x = x;
+        this.y = y;
+        int file = x - 'A';
+        this.index = (file >= 0 && file < 8 && y >= 1 && y <= 8) ? (y - 1) * 8 + file : -1;
+    }
+
+    // instanta canonica pentru A..H / 1..8 (litera mica e acceptata); in afara tablei -> obiect nou
+    public static Position of(char x, int y) {
+        char ux = Character.toUpperCase(x);
+        if (ux >= 'A' && ux <= 'H' && y >= 1 && y <= 8) return SQUARES[(y - 1) * 8 + (ux - 'A')];
+        return new Position(ux, y);
+    }
+
+    public static Position of(int index) {
+        return (index >= 0 && index < 64) ? SQUARES[index] : null;
+    }
 
-    public Position(char x, int y) { this.x = x; this.y = y; }
     public char getX() { return x; }
     public int getY() { return y; }
+    public int getIndex() { return index; }
 
     @Override
     public int compareTo(Position other) {
@@ -1,6 +1,8 @@
 package model.pieces;
 
+import game.Attacks;
 import game.Board;
+import game.MoveList;
 import model.Position;
 
 import java.util.ArrayList;
@@ -26,15 +28,15 @@ public class Bishop extends Piece {
     }
 
     private void addRay(Board board, List<Position> moves, int dx, int dy) {
-        char x = position.getX();
+        char x = Character.toUpperCase(position.getX());
         int y = position.getY();
 
         while (true) {
             x = (char) (x + dx);
             y = y + dy;
 
-            Position p = new Position(x, y);
-            if (!board.inBounds(p)) return;
+            if (x < 'A' || x > 'H' || y < 1 || y > 8) return;
+            Position p = Position.of(x, y);
 
             Piece on = board.getPieceAt(p);
             if (on == null) {
@@ -46,6 +48,16 @@ public class Bishop extends Piece {
         }
     }
 
+    @Override
+    public void generateMoves(Board board, MoveList out) {
+        int from = Board.square(position);
+        if (board == null || from < 0) return;
+
+        long own = board.getOccupancy(color);
+        long enemies = board.getOccupied() & ~own;
+        out.addTargets(from, Attacks.bishop(from, board.getOccupied()) & ~own, enemies);
+    }
+
     @Override
     public boolean checkForCheck(Board board, Position kingPosition) {
         return false;
@@ -4,6 +4,7 @@ package model.pieces;
 import model.Colors;
 import model.Position;
 import game.Board;
+import game.MoveList;
 import java.util.List;
 
 public interface ChessPiece {
@@ -15,6 +16,9 @@ public interface ChessPiece {
 
     List<Position> getPossibleMoves(Board board);
 
+    // varianta fara alocare: adauga mutari impachetate (vezi MoveList) in buffer-ul primit
+    void generateMoves(Board board, MoveList out);
+
     boolean checkForCheck(Board board, Position kingPosition);
 
     char type();
@@ -1,6 +1,8 @@
 package model.pieces;
 
+import game.Attacks;
 import game.Board;
+import game.MoveList;
 import model.Position;
 
 import java.util.ArrayList;
@@ -21,8 +23,10 @@ public class King extends Piece {
             for (int dy = -1; dy <= 1; dy++) {
                 if (dx == 0 && dy == 0) continue;
 
-                Position p = new Position((char) (position.getX() + dx), position.getY() + dy);
-                if (!board.inBounds(p)) continue;
+                char x = (char) (Character.toUpperCase(position.getX()) + dx);
+                int y = position.getY() + dy;
+                if (x < 'A' || x > 'H' || y < 1 || y > 8) continue;
+                Position p = Position.of(x, y);
 
                 Piece on = board.getPieceAt(p);
                 if (on == null || on.getColor() != color) {
@@ -35,6 +39,16 @@ public class King extends Piece {
         return moves;
     }
 
+    @Override
+    public void generateMoves(Board board, MoveList out) {
+        int from = Board.square(position);
+        if (board == null || from < 0) return;
+
+        long own = board.getOccupancy(color);
+        long enemies = board.getOccupied() & ~own;
+        out.addTargets(from, Attacks.KING[from] & ~own, enemies);
+    }
+
     @Override
     public boolean checkForCheck(Board board, Position kingPosition) {
         return false;
@@ -1,6 +1,8 @@
 package model.pieces;
 
+import game.Attacks;
 import game.Board;
+import game.MoveList;
 import model.Position;
 
 import java.util.ArrayList;
@@ -8,6 +10,9 @@ import java.util.List;
 
 public class Knight extends Piece {
 
+    private static final int[] dx = { 1, 2, 2, 1, -1, -2, -2, -1 };
+    private static final int[] dy = { 2, 1, -1, -2, -2, -1, 1, 2 };
+
     public Knight(model.Colors color, Position position) {
         super(color, position);
     }
@@ -17,12 +22,11 @@ public class Knight extends Piece {
         List<Position> moves = new ArrayList<>();
         if (board == null || position == null) return moves;
 
-        int[] dx = { 1, 2, 2, 1, -1, -2, -2, -1 };
-        int[] dy = { 2, 1, -1, -2, -2, -1, 1, 2 };
-
         for (int i = 0; i < 8; i++) {
-            Position p = new Position((char) (position.getX() + dx[i]), position.getY() + dy[i]);
-            if (!board.inBounds(p)) continue;
+            char x = (char) (Character.toUpperCase(position.getX()) + dx[i]);
+            int y = position.getY() + dy[i];
+            if (x < 'A' || x > 'H' || y < 1 || y > 8) continue;
+            Position p = Position.of(x, y);
 
             Piece on = board.getPieceAt(p);
             if (on == null || on.getColor() != color) {
@@ -33,6 +37,16 @@ public class Knight extends Piece {
         return moves;
     }
 
+    @Override
+    public void generateMoves(Board board, MoveList out) {
+        int from = Board.square(position);
+        if (board == null || from < 0) return;
+
+        long own = board.getOccupancy(color);
+        long enemies = board.getOccupied() & ~own;
+        out.addTargets(from, Attacks.KNIGHT[from] & ~own, enemies);
+    }
+
     @Override
     public boolean checkForCheck(Board board, Position kingPosition) {
         return false;
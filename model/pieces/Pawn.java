@@ -2,7 +2,9 @@ package model.pieces;
 
 import model.Colors;
 import model.Position;
+import game.Attacks;
 import game.Board;
+import game.MoveList;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -21,36 +23,79 @@ public class Pawn extends Piece {
         int startRow = (color == Colors.WHITE) ? 2 : 7;
 
         // 1 step forward
-        Position one = new Position(position.getX(), position.getY() + dir);
+        Position one = Position.of(position.getX(), position.getY() + dir);
         if (board.inBounds(one) && board.getPieceAt(one) == null) {
             moves.add(one);
 
             // 2 steps forward from start
-            Position two = new Position(position.getX(), position.getY() + 2 * dir);
+            Position two = Position.of(position.getX(), position.getY() + 2 * dir);
             if (position.getY() == startRow && board.inBounds(two) && board.getPieceAt(two) == null) {
                 moves.add(two);
             }
         }
 
         // captures diagonally
-        char x = position.getX();
+        char x = Character.toUpperCase(position.getX());
         int y = position.getY();
 
-        Position diagL = new Position((char) (x - 1), y + dir);
-        if (board.inBounds(diagL)) {
-            Piece p = board.getPieceAt(diagL);
+        if (x > 'A') {
+            Position diagL = Position.of((char) (x - 1), y + dir);
+            Piece p = board.inBounds(diagL) ? board.getPieceAt(diagL) : null;
             if (p != null && p.getColor() != color) moves.add(diagL);
         }
 
-        Position diagR = new Position((char) (x + 1), y + dir);
-        if (board.inBounds(diagR)) {
-            Piece p = board.getPieceAt(diagR);
+        if (x < 'H') {
+            Position diagR = Position.of((char) (x + 1), y + dir);
+            Piece p = board.inBounds(diagR) ? board.getPieceAt(diagR) : null;
             if (p != null && p.getColor() != color) moves.add(diagR);
         }
 
         return moves;
     }
 
+    @Override
+    public void generateMoves(Board board, MoveList out) {
+        int from = Board.square(position);
+        if (board == null || from < 0) return;
+
+        int dir = (color == Colors.WHITE) ? 8 : -8;
+        int startRank = (color == Colors.WHITE) ? 1 : 6;
+        long occupied = board.getOccupied();
+
+        // 1 step forward (+ 2 din pozitia de start)
+        int one = from + dir;
+        if (one >= 0 && one < 64 && ((occupied >>> one) & 1L) == 0) {
+            addPawnMove(out, from, one, false);
+
+            int two = one + dir;
+            if (from / 8 == startRank && ((occupied >>> two) & 1L) == 0) {
+                out.add(MoveList.encode(from, two, ' ', false));
+            }
+        }
+
+        // captures diagonally
+        long enemies = occupied & ~board.getOccupancy(color);
+        long captures = Attacks.PAWN[color == Colors.WHITE ? 0 : 1][from] & enemies;
+        while (captures != 0) {
+            int to = Long.numberOfTrailingZeros(captures);
+            captures &= captures - 1;
+            addPawnMove(out, from, to, true);
+        }
+    }
+
+    // pe ultimul rand emitem toate cele 4 promovari
+    private void addPawnMove(MoveList out, int from, int to, boolean capture) {
+        int rank = to / 8;
+        if (rank == 0 || rank == 7) {
+            out.add(MoveList.encode(from, to, 'Q', capture));
+            out.add(MoveList.encode(from, to, 'R', capture));
+            out.add(MoveList.encode(from, to, 'B', capture));
+            out.add(MoveList.encode(from, to, 'N', capture));
+        } else {
+            out.add(MoveList.encode(from, to, ' ', capture));
+        }
+    }
+
     @Override
     public boolean checkForCheck(Board board, Position kingPosition) {
         // o facem dupa ce implementam sah-ul
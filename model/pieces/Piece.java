@@ -3,6 +3,7 @@ package model.pieces;
 import model.Colors;
 import model.Position;
 import game.Board;
+import game.MoveList;
 
 import java.util.List;
 
@@ -27,6 +28,9 @@ public abstract class Piece implements ChessPiece {
     @Override
     public abstract List<Position> getPossibleMoves(Board board);
 
+    @Override
+    public abstract void generateMoves(Board board, MoveList out);
+
     @Override
     public abstract boolean checkForCheck(Board board, Position kingPosition);
 
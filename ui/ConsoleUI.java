@@ -322,7 +322,7 @@ public class ConsoleUI {
     private Position parsePos(String s) {
         char x = Character.toUpperCase(s.charAt(0));
         int y = Integer.parseInt(s.substring(1));
-        return new Position(x, y);
+        return Position.of(x, y);
     }
 
     private void runScript() {